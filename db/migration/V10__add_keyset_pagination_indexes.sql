@@ -0,0 +1,10 @@
+-- 添加游标分页索引
+-- 创建日期：2026-10-17
+-- 描述：算子包、公共库按 (created_at, id) 游标分页（WHERE (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC），
+--       索引使任意深度的分页都只读取当前页的行；算子表的同名索引见 V9
+
+CREATE INDEX IF NOT EXISTS idx_package_created_at
+    ON operator_packages(created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_library_created_at
+    ON common_libraries(created_at DESC, id DESC);
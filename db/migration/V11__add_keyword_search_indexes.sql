@@ -0,0 +1,30 @@
+-- 添加关键词搜索索引
+-- 创建日期：2026-10-17
+-- 描述：算子、公共库、算子包的关键词搜索使用 lower(col) LIKE '%keyword%'，B-tree 索引无法支持前后模糊匹配。
+--       pg_trgm 三元组 GIN 索引可直接支持任意位置的模糊匹配（包括中文），并提供 word_similarity 用于相关度排序
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 算子：名称、描述、算子编码、对象编码
+CREATE INDEX IF NOT EXISTS idx_operator_name_trgm
+    ON operators USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_operator_description_trgm
+    ON operators USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_operator_code_trgm
+    ON operators USING gin (lower(operator_code) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_operator_object_code_trgm
+    ON operators USING gin (lower(object_code) gin_trgm_ops);
+
+-- 公共库：名称、描述
+CREATE INDEX IF NOT EXISTS idx_library_name_trgm
+    ON common_libraries USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_library_description_trgm
+    ON common_libraries USING gin (lower(description) gin_trgm_ops);
+
+-- 算子包：名称、描述、业务场景
+CREATE INDEX IF NOT EXISTS idx_package_name_trgm
+    ON operator_packages USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_package_description_trgm
+    ON operator_packages USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_package_business_scenario_trgm
+    ON operator_packages USING gin (lower(business_scenario) gin_trgm_ops);
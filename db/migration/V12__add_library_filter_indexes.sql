@@ -0,0 +1,10 @@
+-- 添加公共库按类型、分类分页查询的索引
+-- 创建日期：2026-10-17
+-- 描述：按类型、分类获取公共库改为数据库分页（WHERE library_type|category = ? ORDER BY created_at DESC, id DESC LIMIT ?），
+--       复合索引使过滤、排序和分页都在索引上完成，不再随公共库总数增长
+
+CREATE INDEX IF NOT EXISTS idx_library_type_created_at
+    ON common_libraries(library_type, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_library_category_created_at
+    ON common_libraries(category, created_at DESC, id DESC);
@@ -0,0 +1,12 @@
+-- 添加公共库文件元数据字段
+-- 创建日期：2026-10-17
+-- 描述：公共库列表只返回文件元数据（名称、大小、摘要），不再读取 code 字段；
+--       file_size 为代码 UTF-8 字节数，content_hash 为代码 SHA-256，由应用在保存文件时维护
+
+ALTER TABLE common_library_files ADD COLUMN IF NOT EXISTS file_size BIGINT;
+ALTER TABLE common_library_files ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+UPDATE common_library_files
+SET file_size = octet_length(coalesce(code, '')),
+    content_hash = encode(sha256(convert_to(coalesce(code, ''), 'UTF8')), 'hex')
+WHERE content_hash IS NULL;
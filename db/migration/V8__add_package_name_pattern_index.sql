@@ -0,0 +1,7 @@
+-- 添加算子包名称前缀匹配索引
+-- 创建日期：2026-10-17
+-- 描述：导入算子包时按 "name LIKE 'xxx\_%'" 查询同名变体以确定可用后缀，
+--       text_pattern_ops 索引使前缀 LIKE 在非 C 排序规则下也能走索引
+
+CREATE INDEX IF NOT EXISTS idx_package_name_pattern
+    ON operator_packages(name text_pattern_ops);
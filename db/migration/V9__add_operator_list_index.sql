@@ -0,0 +1,7 @@
+-- 添加算子列表排序索引
+-- 创建日期：2026-10-17
+-- 描述：算子列表按创建时间倒序分页（ORDER BY created_at DESC, id DESC LIMIT/OFFSET），
+--       索引使数据库按序读取当前页而不是对全表排序
+
+CREATE INDEX IF NOT EXISTS idx_operator_created_at
+    ON operators(created_at DESC, id DESC);
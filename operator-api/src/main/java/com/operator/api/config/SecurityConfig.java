@@ -63,8 +63,9 @@ public class SecurityConfig {
                                 "/actuator/info",
                                 "/h2-console/**"
                         ).permitAll()
-                        // WebSocket endpoint
-                        .requestMatchers("/ws/**").authenticated()
+                        // WebSocket endpoint (browsers cannot send the Authorization header on the handshake,
+                        // the JWT is checked on the STOMP CONNECT frame by StompAuthChannelInterceptor)
+                        .requestMatchers("/ws/**").permitAll()
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
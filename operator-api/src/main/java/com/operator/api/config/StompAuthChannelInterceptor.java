@@ -0,0 +1,110 @@
+package com.operator.api.config;
+
+import com.operator.common.enums.UserRole;
+import com.operator.common.enums.UserStatus;
+import com.operator.core.security.repository.UserRepository;
+import com.operator.infrastructure.security.JwtTokenProvider;
+import com.operator.infrastructure.security.PrincipalCache;
+import com.operator.infrastructure.security.UserPrincipal;
+import com.operator.service.library.PackageImportJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP Authentication Interceptor
+ *
+ * Browsers cannot set the Authorization header on a WebSocket handshake, so the JWT is sent as a
+ * native header of the STOMP CONNECT frame and validated here. Subscriptions are limited to the
+ * import job progress topic of jobs the caller owns (admins may subscribe to any job).
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final PackageImportJobService importJobService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor));
+            case SUBSCRIBE -> authorizeSubscription(accessor);
+            case SEND -> requirePrincipal(accessor);
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Authenticate the CONNECT frame from its Authorization native header
+     */
+    private UsernamePasswordAuthenticationToken authenticate(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            throw new AccessDeniedException("Missing token");
+        }
+        String token = header.substring(BEARER_PREFIX.length());
+        if (!jwtTokenProvider.validateToken(token)) {
+            throw new AccessDeniedException("Invalid token");
+        }
+
+        Long userId = jwtTokenProvider.getUserIdFromToken(token);
+        UserPrincipal userPrincipal = principalCache.get(userId, () -> userRepository.findById(userId)
+                        .filter(user -> user.getStatus() == UserStatus.ACTIVE)
+                        .map(UserPrincipal::create))
+                .orElseThrow(() -> new AccessDeniedException("User not found or inactive"));
+
+        log.debug("WebSocket user authenticated: {}", userPrincipal.getUsername());
+        return new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
+    }
+
+    /**
+     * Only allow subscribing to the progress topic of an accessible import job.
+     * Other destinations (including broker wildcard patterns) are rejected
+     */
+    private void authorizeSubscription(StompHeaderAccessor accessor) {
+        UserPrincipal userPrincipal = requirePrincipal(accessor);
+        String destination = accessor.getDestination();
+        String prefix = PackageImportJobService.PROGRESS_TOPIC_PREFIX;
+        if (destination == null || !destination.startsWith(prefix)) {
+            throw new AccessDeniedException("Subscription not allowed: " + destination);
+        }
+
+        String jobId = destination.substring(prefix.length());
+        boolean admin = userPrincipal.getRole() == UserRole.ADMIN;
+        if (!importJobService.canAccessJob(jobId, userPrincipal.getUsername(), admin)) {
+            log.warn("Rejected subscription to import job {} by {}", jobId, userPrincipal.getUsername());
+            throw new AccessDeniedException("No access to import job: " + jobId);
+        }
+    }
+
+    private UserPrincipal requirePrincipal(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof UsernamePasswordAuthenticationToken authentication
+                && authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal;
+        }
+        throw new AccessDeniedException("Not authenticated");
+    }
+}
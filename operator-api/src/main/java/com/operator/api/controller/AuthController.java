@@ -1,6 +1,7 @@
 package com.operator.api.controller;
 
 import com.operator.infrastructure.security.JwtTokenProvider;
+import com.operator.infrastructure.security.PrincipalCache;
 import com.operator.infrastructure.security.UserPrincipal;
 import com.operator.common.utils.ApiResponse;
 import com.operator.common.dto.AuthResponse;
@@ -43,6 +44,7 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final AuthService authService;
+    private final PrincipalCache principalCache;
 
     /**
      * User login endpoint
@@ -152,7 +154,9 @@ public class AuthController {
         String username = null;
         Authentication auth = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.getPrincipal() instanceof UserPrincipal) {
-            username = ((UserPrincipal) auth.getPrincipal()).getUsername();
+            UserPrincipal userPrincipal = (UserPrincipal) auth.getPrincipal();
+            username = userPrincipal.getUsername();
+            principalCache.invalidate(userPrincipal.getId());
         }
 
         log.info("User logged out: {}", username);
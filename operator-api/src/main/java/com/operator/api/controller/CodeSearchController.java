@@ -0,0 +1,60 @@
+package com.operator.api.controller;
+
+import com.operator.common.dto.search.CodeSearchResponse;
+import com.operator.common.utils.ApiResponse;
+import com.operator.service.search.CodeSearchIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Code Search Controller
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/code-search")
+@RequiredArgsConstructor
+@Tag(name = "Code Search", description = "Identifier search across operator and library source")
+public class CodeSearchController {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final CodeSearchIndex codeSearchIndex;
+
+    /**
+     * Find operators and library files referencing identifiers
+     */
+    @GetMapping
+    @Operation(summary = "Search code",
+               description = "Find operators and library files whose source contains every identifier of the query, with matching line numbers")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CodeSearchResponse>> searchCode(
+            @Parameter(description = "Identifiers to find, e.g. a method or constant name", required = true) @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of sources returned") @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        log.debug("Searching code - q: {}, limit: {}", query, limit);
+
+        CodeSearchResponse response = codeSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Rebuild the code search index
+     */
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild code search index", description = "Rebuild the code search index from the database in the background")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> rebuildIndex() {
+        log.info("Rebuilding code search index");
+        codeSearchIndex.scheduleRebuild();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Code search index rebuild started"));
+    }
+}
@@ -2,6 +2,7 @@ package com.operator.api.controller;
 
 import com.operator.common.dto.library.*;
 import com.operator.common.utils.ApiResponse;
+import com.operator.common.utils.CursorPageResponse;
 import com.operator.common.utils.PageResponse;
 import com.operator.infrastructure.security.UserPrincipal;
 import com.operator.service.library.CommonLibraryService;
@@ -11,13 +12,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
 
 /**
  * 公共库 Controller
@@ -118,6 +128,26 @@ public class LibraryController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * 按游标搜索公共库
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "按游标搜索公共库", description = "游标分页搜索公共库，深分页耗时与第一页相同，不返回精确总数")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPageResponse<LibraryResponse>>> searchLibrariesByCursor(
+            @Parameter(description = "搜索关键词") @RequestParam(value = "keyword", required = false) String keyword,
+            @Parameter(description = "库类型") @RequestParam(value = "libraryType", required = false) String libraryType,
+            @Parameter(description = "上一页返回的游标，第一页不传") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页大小") @RequestParam(value = "size", defaultValue = "10") int size,
+            @Parameter(description = "是否返回总数估算值") @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        log.debug("按游标搜索公共库：keyword={}, libraryType={}, cursor={}, size={}", keyword, libraryType, cursor, size);
+
+        CursorPageResponse<LibraryResponse> response =
+                libraryService.searchLibrariesByCursor(keyword, libraryType, cursor, size, withTotal);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     /**
      * 根据类型获取公共库
      */
@@ -213,6 +243,47 @@ public class LibraryController {
         return ResponseEntity.ok(ApiResponse.success("文件名更新成功"));
     }
 
+    /**
+     * 获取库文件内容
+     * 返回纯文本代码，支持 Range 请求（206 分段响应）和 If-None-Match（304）
+     * 先按元数据中的内容摘要校验 If-None-Match，命中时不读取代码；未命中时只读取代码列并编码一次
+     */
+    @GetMapping(value = "/{libraryId}/files/{fileId}/content")
+    @Operation(summary = "获取库文件内容", description = "获取库文件的代码内容，支持 HTTP Range 分段读取")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Resource> getLibraryFileContent(
+            @Parameter(description = "公共库ID") @PathVariable(name = "libraryId") Long id,
+            @Parameter(description = "文件ID") @PathVariable(name = "fileId") Long fileId,
+            WebRequest webRequest) {
+        log.debug("获取库文件内容：libraryId={}, fileId={}", id, fileId);
+
+        LibraryFileResponse file = libraryService.getLibraryFileMetadata(id, fileId);
+        String eTag = file.getContentHash() != null ? "\"" + file.getContentHash() + "\"" : null;
+
+        // checkNotModified 按 If-None-Match 中的标签列表（含 *、弱标签）比较，命中时已设置 304 响应
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        byte[] content = libraryService.getLibraryFileContent(id, fileId);
+
+        // 返回 Resource 时 Spring MVC 会根据 Range 请求头输出 206 分段响应
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        headers.setContentDisposition(ContentDisposition.inline()
+                .filename(file.getFileName(), StandardCharsets.UTF_8)
+                .build());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (eTag != null) {
+            headers.setETag(eTag);
+        }
+        headers.setCacheControl(CacheControl.noCache());
+
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(new ByteArrayResource(content));
+    }
+
     /**
      * 更新库文件内容
      */
@@ -4,9 +4,13 @@ import com.operator.common.dto.operator.*;
 import com.operator.common.enums.LanguageType;
 import com.operator.common.enums.OperatorStatus;
 import com.operator.common.utils.ApiResponse;
+import com.operator.common.utils.CursorPageResponse;
 import com.operator.common.utils.PageResponse;
 import com.operator.common.validation.ValidationGroups;
+import com.operator.core.operator.domain.Operator;
 import com.operator.core.operator.repository.OperatorRepository;
+import com.operator.core.operator.repository.OperatorSpecifications;
+import com.operator.core.operator.repository.OperatorSummary;
 import com.operator.infrastructure.security.UserPrincipal;
 import com.operator.service.operator.OperatorService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,9 +21,10 @@ import org.springframework.validation.annotation.Validated;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -154,46 +159,21 @@ public class OperatorController {
         log.debug("Getting operators - page: {}, size: {}, language: {}, status: {}, categoryId: {}, keyword: {}",
                 page, size, language, status, categoryId, keyword);
 
-        Pageable pageable = PageRequest.of(page, size);
-
-        // Start with all operators
-        List<com.operator.core.operator.domain.Operator> allOperators = operatorRepository.findAllWithAssociations();
-
-        // Apply all filters - they should work together, not mutually exclusive
-        List<com.operator.core.operator.domain.Operator> filteredOperators = new ArrayList<>(allOperators);
-
-        // Filter by language
+        // Filters, ordering and pagination are all applied in the database
+        Specification<Operator> spec = Specification.where(null);
         if (language != null && !language.isEmpty()) {
-            LanguageType langFilter = LanguageType.valueOf(language);
-            filteredOperators = filteredOperators.stream()
-                    .filter(op -> op.getLanguage() == langFilter)
-                    .toList();
+            spec = spec.and(OperatorSpecifications.hasLanguage(LanguageType.valueOf(language)));
         }
-
-        // Filter by status
         if (status != null && !status.isEmpty()) {
-            OperatorStatus statusFilter = OperatorStatus.valueOf(status);
-            filteredOperators = filteredOperators.stream()
-                    .filter(op -> op.getStatus() == statusFilter)
-                    .toList();
+            spec = spec.and(OperatorSpecifications.hasStatus(OperatorStatus.valueOf(status)));
         }
-
-        // Filter by keyword (search in name and description)
         if (keyword != null && !keyword.isEmpty()) {
-            String lowerKeyword = keyword.toLowerCase();
-            filteredOperators = filteredOperators.stream()
-                    .filter(op -> (op.getName() != null && op.getName().toLowerCase().contains(lowerKeyword)) ||
-                                 (op.getDescription() != null && op.getDescription().toLowerCase().contains(lowerKeyword)))
-                    .toList();
+            spec = spec.and(OperatorSpecifications.nameOrDescriptionContains(keyword));
         }
 
-        // Apply pagination to filtered results
-        int start = Math.min((int) pageable.getOffset(), filteredOperators.size());
-        int end = Math.min((start + pageable.getPageSize()), filteredOperators.size());
-        List<com.operator.core.operator.domain.Operator> paginatedOperators = filteredOperators.subList(start, end);
-
-        Page<com.operator.core.operator.domain.Operator> operators = new PageImpl<>(
-                paginatedOperators, pageable, filteredOperators.size());
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        Page<OperatorSummary> operators = operatorRepository.findSummaries(spec, pageable);
 
         // Convert domain objects to DTOs
         List<OperatorResponse> content = operators.getContent().stream()
@@ -214,6 +194,51 @@ public class OperatorController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * Get operators by keyset cursor
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "Get operators by cursor",
+               description = "Keyset pagination over operators, newest first; deep pages cost the same as the first page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPageResponse<OperatorResponse>>> getOperatorsByCursor(
+            @Parameter(description = "Cursor returned by the previous page, omit for the first page") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(value = "size", defaultValue = "20") int size,
+            @Parameter(description = "Filter by language") @RequestParam(value = "language", required = false) String language,
+            @Parameter(description = "Filter by status") @RequestParam(value = "status", required = false) String status,
+            @Parameter(description = "Search keyword for name and description") @RequestParam(value = "keyword", required = false) String keyword,
+            @Parameter(description = "Include approximate total count") @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        log.debug("Getting operators by cursor - cursor: {}, size: {}, language: {}, status: {}, keyword: {}",
+                cursor, size, language, status, keyword);
+
+        CursorPageResponse<OperatorResponse> response =
+                operatorService.getOperatorsByCursor(cursor, size, language, status, keyword, withTotal);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Get facet counts for the operator catalog
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Get operator facets",
+               description = "Operator counts per language, status, data format and generator for the active filters")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<OperatorFacetsResponse>> getOperatorFacets(
+            @Parameter(description = "Filter by language") @RequestParam(value = "language", required = false) String language,
+            @Parameter(description = "Filter by status") @RequestParam(value = "status", required = false) String status,
+            @Parameter(description = "Filter by data format") @RequestParam(value = "dataFormat", required = false) String dataFormat,
+            @Parameter(description = "Filter by generator") @RequestParam(value = "generator", required = false) String generator,
+            @Parameter(description = "Search keyword for name and description") @RequestParam(value = "keyword", required = false) String keyword) {
+        log.debug("Getting operator facets - language: {}, status: {}, dataFormat: {}, generator: {}, keyword: {}",
+                language, status, dataFormat, generator, keyword);
+
+        OperatorFacetsResponse response =
+                operatorService.getOperatorFacets(language, status, dataFormat, generator, keyword);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     /**
      * Search operators with advanced filters
      */
@@ -455,40 +480,30 @@ public class OperatorController {
     }
 
     /**
-     * Convert Operator domain object to OperatorResponse DTO
-     * This is a helper method used within getAllOperators for manual conversion
+     * Convert operator summary projection to OperatorResponse DTO
+     * List rows omit code, business logic and parameters; they are returned by GET /v1/operators/{id}
      */
-    private OperatorResponse convertToResponse(com.operator.core.operator.domain.Operator operator) {
-        log.debug("=== CONTROLLER convertToResponse: operator ID: {}, code present: {}, code length: {}",
-                operator.getId(),
-                operator.getCode() != null,
-                operator.getCode() != null ? operator.getCode().length() : 0);
-        log.debug("=== CONTROLLER convertToResponse: business logic present: {}, business logic length: {}",
-                operator.getBusinessLogic() != null,
-                operator.getBusinessLogic() != null ? operator.getBusinessLogic().length() : 0);
-
+    private OperatorResponse convertToResponse(OperatorSummary operator) {
         return OperatorResponse.builder()
-                .id(operator.getId())
-                .name(operator.getName())
-                .description(operator.getDescription())
-                .language(convertToDtoLanguageType(operator.getLanguage()))
-                .status(convertToDtoOperatorStatus(operator.getStatus()))
-                .version(operator.getVersion())
-                .code(operator.getCode())  // 添加缺失的 code 字段
-                .codeFilePath(operator.getCodeFilePath())
-                .fileName(operator.getFileName())
-                .fileSize(operator.getFileSize())
-                .isPublic(operator.getIsPublic())
-                .featured(operator.getFeatured())
-                .createdBy(operator.getCreatedBy())
-                .createdAt(operator.getCreatedAt())
-                .updatedAt(operator.getUpdatedAt())
+                .id(operator.id())
+                .name(operator.name())
+                .description(operator.description())
+                .language(convertToDtoLanguageType(operator.language()))
+                .status(convertToDtoOperatorStatus(operator.status()))
+                .version(operator.version())
+                .fileName(operator.fileName())
+                .fileSize(operator.fileSize())
+                .isPublic(operator.isPublic())
+                .downloadsCount(operator.downloadsCount())
+                .featured(operator.featured())
+                .createdBy(operator.createdBy())
+                .createdAt(operator.createdAt())
+                .updatedAt(operator.updatedAt())
                 .tags(new ArrayList<>()) // Empty list since tags are removed
-                .operatorCode(operator.getOperatorCode())
-                .objectCode(operator.getObjectCode())
-                .dataFormat(operator.getDataFormat())
-                .generator(operator.getGenerator())
-                .businessLogic(operator.getBusinessLogic())
+                .operatorCode(operator.operatorCode())
+                .objectCode(operator.objectCode())
+                .dataFormat(operator.dataFormat())
+                .generator(operator.generator())
                 .build();
     }
 
@@ -1,6 +1,5 @@
 package com.operator.api.controller;
 
-import com.operator.common.dto.library.PackageDownloadResponse;
 import com.operator.common.utils.ApiResponse;
 import com.operator.infrastructure.security.UserPrincipal;
 import com.operator.service.library.PackageBuildService;
@@ -9,12 +8,15 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * 算子包构建 Controller
@@ -33,28 +35,46 @@ public class PackageBuildController {
 
     /**
      * 下载算子包
+     * 压缩包以流式方式直接写入响应，不在内存中缓存整个压缩包；
+     * 以构建摘要作为 ETag，内容未变化时命中构建缓存或返回 304
      *
      * @param id 算子包 ID
+     * @param ifNoneMatch 客户端缓存的 ETag
      * @param userPrincipal 用户认证信息
-     * @return ZIP 压缩包字节数组
+     * @return ZIP 压缩包输出流
      */
     @GetMapping("/{id}/download")
     @Operation(summary = "下载算子包", description = "生成并下载算子包的压缩包")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<byte[]> downloadPackage(
+    public ResponseEntity<StreamingResponseBody> downloadPackage(
             @Parameter(description = "算子包ID") @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         log.info("下载算子包：packageId={}, user={}", id, userPrincipal.getUsername());
 
-        PackageDownloadResponse downloadResponse = packageBuildService.buildPackage(id);
+        // 先校验算子包是否存在，确保错误在写出响应体之前返回
+        String packageName = packageBuildService.getPackageName(id);
+        String buildDigest = packageBuildService.computeBuildDigest(id);
+        String eTag = "\"" + buildDigest + "\"";
+
+        if (ifNoneMatch != null && ifNoneMatch.contains(eTag)) {
+            log.debug("算子包未变化，返回 304：packageId={}", id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .build();
+        }
 
         // 设置下载响应头
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("application/zip"));
-        headers.setContentDispositionFormData("attachment", "operator_package_" + downloadResponse.getPackageName() + ".zip");
+        headers.setContentDispositionFormData("attachment", "operator_package_" + packageName + ".zip");
+        headers.setETag(eTag);
+        headers.setCacheControl(CacheControl.noCache());
+
+        StreamingResponseBody body = outputStream -> packageBuildService.writePackage(id, buildDigest, outputStream);
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(downloadResponse.getZipBytes());
+                .body(body);
     }
 }
@@ -2,6 +2,7 @@ package com.operator.api.controller;
 
 import com.operator.common.dto.pkg.PackageResponse;
 import com.operator.common.dto.pkg.PackageRequest;
+import com.operator.common.dto.pkg.PackageSummaryResponse;
 import com.operator.common.dto.library.*;
 import com.operator.common.dto.pkg.PackageOperatorRequest;
 import com.operator.common.dto.pkg.PackageOperatorResponse;
@@ -11,6 +12,7 @@ import com.operator.common.dto.pkg.BatchAddOperatorsResponse;
 import com.operator.common.dto.pkg.BatchRemoveRequest;
 import com.operator.infrastructure.security.UserPrincipal;
 import com.operator.common.utils.ApiResponse;
+import com.operator.common.utils.CursorPageResponse;
 import com.operator.service.library.CommonLibraryService;
 import com.operator.service.pkg.PackageService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -117,12 +119,30 @@ public class PackageController {
     @GetMapping
     @Operation(summary = "List packages", description = "Get all packages with pagination")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<com.operator.common.utils.PageResponse<PackageResponse>>> getAllPackages(
+    public ResponseEntity<ApiResponse<com.operator.common.utils.PageResponse<PackageSummaryResponse>>> getAllPackages(
             @Parameter(description = "Page number (default: 0)") @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Page size (default: 20)") @RequestParam(value = "size", defaultValue = "20") int size) {
         log.debug("Getting packages - page: {}, size: {}", page, size);
 
-        com.operator.common.utils.PageResponse<PackageResponse> response = packageService.getAllPackages(page, size);
+        com.operator.common.utils.PageResponse<PackageSummaryResponse> response = packageService.getAllPackages(page, size);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Get packages by keyset cursor
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "List packages by cursor",
+               description = "Keyset pagination over packages, newest first; deep pages cost the same as the first page")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPageResponse<PackageSummaryResponse>>> getPackagesByCursor(
+            @Parameter(description = "Cursor returned by the previous page, omit for the first page") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Page size (default: 20)") @RequestParam(value = "size", defaultValue = "20") int size,
+            @Parameter(description = "Include approximate total count") @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal) {
+        log.debug("Getting packages by cursor - cursor: {}, size: {}", cursor, size);
+
+        CursorPageResponse<PackageSummaryResponse> response = packageService.getPackagesByCursor(cursor, size, withTotal);
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -133,13 +153,13 @@ public class PackageController {
     @GetMapping("/search")
     @Operation(summary = "Search packages", description = "Search packages by keyword")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<com.operator.common.utils.PageResponse<PackageResponse>>> searchPackages(
+    public ResponseEntity<ApiResponse<com.operator.common.utils.PageResponse<PackageSummaryResponse>>> searchPackages(
             @Parameter(description = "Search keyword") @RequestParam(value = "keyword") String keyword,
             @Parameter(description = "Page number (default: 0)") @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(description = "Page size (default: 20)") @RequestParam(value = "size", defaultValue = "20") int size) {
         log.info("Searching packages with keyword: {}", keyword);
 
-        com.operator.common.utils.PageResponse<PackageResponse> response = packageService.searchPackages(keyword, page, size);
+        com.operator.common.utils.PageResponse<PackageSummaryResponse> response = packageService.searchPackages(keyword, page, size);
 
         return ResponseEntity.ok(ApiResponse.success(response));
     }
@@ -150,11 +170,11 @@ public class PackageController {
     @GetMapping("/my-packages")
     @Operation(summary = "Get my packages", description = "Get all packages created by current user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<List<PackageResponse>>> getMyPackages(
+    public ResponseEntity<ApiResponse<List<PackageSummaryResponse>>> getMyPackages(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         log.debug("Getting packages for user: {}", userPrincipal.getUsername());
 
-        List<PackageResponse> packages = packageService.getPackagesByCreator(userPrincipal.getUsername());
+        List<PackageSummaryResponse> packages = packageService.getPackagesByCreator(userPrincipal.getUsername());
 
         return ResponseEntity.ok(ApiResponse.success(packages));
     }
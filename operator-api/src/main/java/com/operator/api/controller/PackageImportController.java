@@ -1,21 +1,29 @@
 package com.operator.api.controller;
 
+import com.operator.common.dto.pkg.PackageImportJobResponse;
 import com.operator.common.dto.pkg.PackageImportResponse;
+import com.operator.common.enums.UserRole;
 import com.operator.common.utils.ApiResponse;
 import com.operator.infrastructure.security.UserPrincipal;
+import com.operator.service.library.PackageImportJobService;
 import com.operator.service.library.PackageImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.List;
+
 /**
  * 算子包导入 Controller
  *
@@ -30,22 +38,36 @@ import org.springframework.web.multipart.MultipartFile;
 public class PackageImportController {
 
     private final PackageImportService importService;
+    private final PackageImportJobService importJobService;
+
+    /**
+     * 导入文件大小上限
+     */
+    @Value("${operator.package-import.max-file-size:10MB}")
+    private DataSize maxFileSize;
 
     /**
      * 导入算子包
      *
      * @param file ZIP 压缩包文件
+     * @param async 是否异步导入（立即返回任务信息，进度通过 WebSocket 推送）
+     * @param chunked 是否分块导入（按批提交事务，适用于包含大量算子的压缩包）
      * @param userPrincipal 用户认证信息
-     * @return 导入结果
+     * @return 导入结果，异步导入时返回任务信息
      */
     @PostMapping("/import")
-    @Operation(summary = "导入算子包", description = "从 ZIP 文件导入算子包")
+    @Operation(summary = "导入算子包", description = "从 ZIP 文件导入算子包，async=true 时异步导入并返回任务 ID，chunked=true 时按批提交事务")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<ApiResponse<PackageImportResponse>> importPackage(
+    public ResponseEntity<ApiResponse<?>> importPackage(
             @Parameter(description = "ZIP 压缩包文件", required = true)
             @RequestParam("file") MultipartFile file,
+            @Parameter(description = "是否异步导入")
+            @RequestParam(value = "async", defaultValue = "false") boolean async,
+            @Parameter(description = "是否分块导入")
+            @RequestParam(value = "chunked", defaultValue = "false") boolean chunked,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        log.info("导入算子包：fileName={}, user={}", file.getOriginalFilename(), userPrincipal.getUsername());
+        log.info("导入算子包：fileName={}, user={}, async={}, chunked={}",
+                file.getOriginalFilename(), userPrincipal.getUsername(), async, chunked);
 
         try {
             // 验证文件类型
@@ -56,19 +78,36 @@ public class PackageImportController {
                         .body(ApiResponse.error("只支持 ZIP 格式文件"));
             }
 
-            // 验证文件大小（限制 10MB）
-            long maxSize = 10 * 1024 * 1024; // 10MB
-            if (file.getSize() > maxSize) {
+            // 验证文件大小
+            if (file.getSize() > maxFileSize.toBytes()) {
                 return ResponseEntity
                         .status(HttpStatus.BAD_REQUEST)
-                        .body(ApiResponse.error("文件大小超过限制（最大 10MB）"));
+                        .body(ApiResponse.error("文件大小超过限制（最大 " + maxFileSize.toMegabytes() + "MB）"));
             }
 
-            // 导入算子包
-            PackageImportResponse response = importService.importPackage(
-                    file.getBytes(),
-                    file.getOriginalFilename(),
-                    userPrincipal.getUsername());
+            // 异步导入：保存上传文件后立即返回任务信息
+            if (async) {
+                PackageImportJobResponse job;
+                try (InputStream inputStream = file.getInputStream()) {
+                    job = importJobService.submit(
+                            inputStream,
+                            file.getOriginalFilename(),
+                            userPrincipal.getUsername(),
+                            chunked);
+                }
+
+                return ResponseEntity
+                        .status(HttpStatus.ACCEPTED)
+                        .body(ApiResponse.success("算子包导入任务已提交", job));
+            }
+
+            // 导入算子包（直接读取上传流，不在内存中复制整个文件）
+            PackageImportResponse response;
+            try (InputStream inputStream = file.getInputStream()) {
+                response = chunked
+                        ? importService.importPackageInChunks(inputStream, file.getOriginalFilename(), userPrincipal.getUsername())
+                        : importService.importPackage(inputStream, file.getOriginalFilename(), userPrincipal.getUsername());
+            }
 
             return ResponseEntity
                     .status(HttpStatus.OK)
@@ -81,4 +120,60 @@ public class PackageImportController {
                     .body(ApiResponse.error("导入算子包失败：" + e.getMessage()));
         }
     }
+
+    /**
+     * 查询当前用户的导入任务
+     *
+     * @param userPrincipal 用户认证信息
+     * @return 导入任务列表
+     */
+    @GetMapping("/import/jobs")
+    @Operation(summary = "查询导入任务列表", description = "查询当前用户的算子包导入任务（管理员返回所有任务）")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<PackageImportJobResponse>>> listImportJobs(
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        List<PackageImportJobResponse> jobs = importJobService.listJobs(
+                userPrincipal.getUsername(), isAdmin(userPrincipal));
+        return ResponseEntity.ok(ApiResponse.success(jobs));
+    }
+
+    /**
+     * 查询导入任务
+     *
+     * @param jobId 任务 ID
+     * @param userPrincipal 用户认证信息
+     * @return 导入任务
+     */
+    @GetMapping("/import/jobs/{jobId}")
+    @Operation(summary = "查询导入任务", description = "查询算子包导入任务的状态和结果")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<PackageImportJobResponse>> getImportJob(
+            @Parameter(description = "任务 ID", required = true) @PathVariable String jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        PackageImportJobResponse job = importJobService.getJob(
+                jobId, userPrincipal.getUsername(), isAdmin(userPrincipal));
+        return ResponseEntity.ok(ApiResponse.success(job));
+    }
+
+    /**
+     * 取消导入任务
+     *
+     * @param jobId 任务 ID
+     * @param userPrincipal 用户认证信息
+     * @return 导入任务
+     */
+    @PostMapping("/import/jobs/{jobId}/cancel")
+    @Operation(summary = "取消导入任务", description = "取消排队中或运行中的算子包导入任务")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<PackageImportJobResponse>> cancelImportJob(
+            @Parameter(description = "任务 ID", required = true) @PathVariable String jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        PackageImportJobResponse job = importJobService.cancel(
+                jobId, userPrincipal.getUsername(), isAdmin(userPrincipal));
+        return ResponseEntity.ok(ApiResponse.success("已请求取消导入任务", job));
+    }
+
+    private boolean isAdmin(UserPrincipal userPrincipal) {
+        return userPrincipal.getRole() == UserRole.ADMIN;
+    }
 }
@@ -25,6 +25,16 @@ public class LibraryFileResponse {
     private String filePath;
     private String code;
     private Integer orderIndex;
+
+    /**
+     * 代码内容字节数（UTF-8）
+     */
+    private Long fileSize;
+
+    /**
+     * 代码内容 SHA-256
+     */
+    private String contentHash;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
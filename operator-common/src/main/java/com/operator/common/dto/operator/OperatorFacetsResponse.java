@@ -0,0 +1,44 @@
+package com.operator.common.dto.operator;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Operator catalog facet counts DTO
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperatorFacetsResponse {
+
+    /**
+     * Operators matching the active filters
+     */
+    private long total;
+
+    private List<FacetCount> languages;
+    private List<FacetCount> statuses;
+    private List<FacetCount> dataFormats;
+    private List<FacetCount> generators;
+
+    /**
+     * Number of operators with a facet value (value is null for operators without one)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+
+        private String value;
+        private long count;
+    }
+}
@@ -0,0 +1,78 @@
+package com.operator.common.dto.pkg;
+
+import com.operator.common.enums.ImportPhase;
+import com.operator.common.enums.TaskStatus;
+import com.operator.common.enums.TaskType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 算子包异步导入任务响应 DTO
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageImportJobResponse {
+    /**
+     * 任务 ID
+     */
+    private String jobId;
+
+    /**
+     * 任务类型
+     */
+    private TaskType type;
+
+    /**
+     * 任务状态
+     */
+    private TaskStatus status;
+
+    /**
+     * 已完成的导入阶段
+     */
+    private ImportPhase phase;
+
+    /**
+     * 原始文件名
+     */
+    private String fileName;
+
+    /**
+     * 提交用户
+     */
+    private String username;
+
+    /**
+     * 导入结果（任务成功后返回）
+     */
+    private PackageImportResponse result;
+
+    /**
+     * 错误信息（任务失败后返回）
+     */
+    private String error;
+
+    /**
+     * 提交时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 开始执行时间
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedAt;
+}
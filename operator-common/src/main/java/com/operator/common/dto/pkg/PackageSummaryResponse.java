@@ -0,0 +1,39 @@
+package com.operator.common.dto.pkg;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Package Summary Response DTO for list and search pages
+ * (counts instead of the operator and library lists returned by {@link PackageResponse})
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PackageSummaryResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private String businessScenario;
+    private String status;
+    private String version;
+    private String packageTemplate;
+    private String icon;
+    private Boolean isPublic;
+    private Boolean featured;
+    private Integer downloadsCount;
+    private Integer operatorCount;
+    private Integer commonLibraryCount;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,77 @@
+package com.operator.common.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Code search response DTO
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeSearchResponse {
+
+    /**
+     * Identifier tokens the query was reduced to
+     */
+    private List<String> tokens;
+
+    /**
+     * False while the index is still being built after startup; hits may then be incomplete
+     */
+    private boolean indexReady;
+
+    /**
+     * True when more sources matched than the requested limit
+     */
+    private boolean truncated;
+
+    private List<Hit> hits;
+
+    /**
+     * A matching operator or library file
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+
+        /**
+         * OPERATOR or LIBRARY_FILE
+         */
+        private String sourceType;
+
+        private Long operatorId;
+        private String operatorName;
+        private String operatorCode;
+
+        private Long libraryId;
+        private String libraryName;
+        private Long fileId;
+        private String fileName;
+
+        private List<Line> lines;
+    }
+
+    /**
+     * A matching source line (1-based line number)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+
+        private int lineNumber;
+        private String text;
+    }
+}
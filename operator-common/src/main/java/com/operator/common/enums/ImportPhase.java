@@ -0,0 +1,15 @@
+package com.operator.common.enums;
+
+/**
+ * Package Import Phase Enum
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public enum ImportPhase {
+    UPLOADED,
+    METADATA_PARSED,
+    LIBRARIES_PROCESSED,
+    OPERATORS_PROCESSED,
+    LINKS_CREATED
+}
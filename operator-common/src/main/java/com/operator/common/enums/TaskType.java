@@ -8,5 +8,6 @@ package com.operator.common.enums;
  */
 public enum TaskType {
     OPERATOR_EXECUTION,
-    PACKAGE_EXECUTION
+    PACKAGE_EXECUTION,
+    PACKAGE_IMPORT
 }
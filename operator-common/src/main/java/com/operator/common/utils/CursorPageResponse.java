@@ -0,0 +1,50 @@
+package com.operator.common.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset (cursor) page response
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int pageSize;
+    private boolean hasNext;
+
+    /**
+     * Cursor for the next page, null on the last page
+     */
+    private String nextCursor;
+
+    /**
+     * Approximate total row count of the underlying table (from planner statistics), only when requested
+     */
+    private Long estimatedTotal;
+
+    /**
+     * Create cursor page response; a negative estimate (table never analyzed) is omitted
+     */
+    public static <T> CursorPageResponse<T> of(List<T> content, int pageSize, PageCursor nextCursor, Long estimatedTotal) {
+        return CursorPageResponse.<T>builder()
+                .content(content)
+                .pageSize(pageSize)
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor != null ? nextCursor.encode() : null)
+                .estimatedTotal(estimatedTotal != null && estimatedTotal >= 0 ? estimatedTotal : null)
+                .build();
+    }
+}
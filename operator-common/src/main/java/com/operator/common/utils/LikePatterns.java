@@ -0,0 +1,31 @@
+package com.operator.common.utils;
+
+import java.util.Locale;
+
+/**
+ * LIKE pattern helpers; wildcards are escaped with backslash, so queries must use {@code ESCAPE '\'}
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    /**
+     * Escape LIKE wildcards so the value matches literally
+     */
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * Build a case-insensitive contains pattern: the lower-cased, escaped keyword wrapped in {@code %}
+     */
+    public static String contains(String keyword) {
+        return "%" + escape(keyword.toLowerCase(Locale.ROOT)) + "%";
+    }
+}
@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,10 +22,15 @@ import java.util.List;
  * @version 1.0.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "common_libraries", indexes = {
     @Index(name = "idx_library_name", columnList = "name"),
     @Index(name = "idx_library_version", columnList = "version"),
-    @Index(name = "idx_library_name_version", columnList = "name, version", unique = true)
+    @Index(name = "idx_library_name_version", columnList = "name, version", unique = true),
+    @Index(name = "idx_library_created_at", columnList = "created_at DESC, id DESC"),
+    @Index(name = "idx_library_type_created_at", columnList = "library_type, created_at DESC, id DESC"),
+    @Index(name = "idx_library_category_created_at", columnList = "category, created_at DESC, id DESC")
 })
 @Data
 @Builder
@@ -68,6 +75,7 @@ public class CommonLibrary extends BaseEntity {
      */
     @OneToMany(mappedBy = "library", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @Builder.Default
     private List<CommonLibraryFile> files = new ArrayList<>();
 }
@@ -7,6 +7,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 /**
  * 公共库文件实体类
@@ -16,6 +23,8 @@ import lombok.NoArgsConstructor;
  * @version 1.0.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "common_library_files", indexes = {
     @Index(name = "idx_library_file_library", columnList = "library_id")
 })
@@ -56,4 +65,31 @@ public class CommonLibraryFile extends BaseEntity {
      */
     @Column(name = "order_index")
     private Integer orderIndex;
+
+    /**
+     * 代码内容字节数（UTF-8），保存时根据 code 计算
+     */
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    /**
+     * 代码内容 SHA-256（十六进制），保存时根据 code 计算
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * 根据代码内容计算大小和摘要，列表查询只读取这两个字段而不读取代码
+     */
+    @PrePersist
+    @PreUpdate
+    void computeContentMetadata() {
+        byte[] content = code != null ? code.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        fileSize = (long) content.length;
+        try {
+            contentHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -1,10 +1,15 @@
 package com.operator.core.library.repository;
 
 import com.operator.core.library.domain.CommonLibraryFile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 公共库文件 Repository
@@ -24,4 +29,38 @@ public interface CommonLibraryFileRepository extends JpaRepository<CommonLibrary
      * 根据公共库ID删除所有文件
      */
     void deleteByLibraryId(Long libraryId);
+
+    /**
+     * 批量查询公共库文件元数据（不读取代码内容），按公共库内顺序排列
+     */
+    @Query("SELECT new com.operator.core.library.repository.LibraryFileSummary(" +
+           "f.id, f.library.id, f.fileName, f.filePath, f.orderIndex, f.fileSize, f.contentHash, f.createdAt, f.updatedAt) " +
+           "FROM CommonLibraryFile f WHERE f.library.id IN :libraryIds ORDER BY f.orderIndex ASC, f.id ASC")
+    List<LibraryFileSummary> findSummariesByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds);
+
+    /**
+     * 查询单个文件元数据（不读取代码内容）
+     */
+    @Query("SELECT new com.operator.core.library.repository.LibraryFileSummary(" +
+           "f.id, f.library.id, f.fileName, f.filePath, f.orderIndex, f.fileSize, f.contentHash, f.createdAt, f.updatedAt) " +
+           "FROM CommonLibraryFile f WHERE f.id = :id")
+    Optional<LibraryFileSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * 加载指定公共库中单个文件的代码（不读取其他字段，文件不属于该库时返回 null）
+     */
+    @Query("SELECT f.code FROM CommonLibraryFile f WHERE f.id = :id AND f.library.id = :libraryId")
+    String findCodeByIdAndLibraryId(@Param("id") Long id, @Param("libraryId") Long libraryId);
+
+    /**
+     * 加载单个文件的代码（算子包构建，不读取其他字段）
+     */
+    @Query("SELECT f.code FROM CommonLibraryFile f WHERE f.id = :id")
+    String findCodeById(@Param("id") Long id);
+
+    /**
+     * 按 ID 顺序分批加载文件 ID、公共库 ID 和代码（代码搜索索引构建）
+     */
+    @Query("SELECT f.id, f.library.id, f.code FROM CommonLibraryFile f WHERE f.id > :afterId ORDER BY f.id")
+    List<Object[]> findCodeBatch(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -2,13 +2,19 @@ package com.operator.core.library.repository;
 
 import com.operator.common.enums.LibraryType;
 import com.operator.core.library.domain.CommonLibrary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +32,11 @@ public interface CommonLibraryRepository extends JpaRepository<CommonLibrary, Lo
      */
     Optional<CommonLibrary> findByName(String name);
 
+    /**
+     * 根据库名称批量查找公共库（不区分版本）
+     */
+    List<CommonLibrary> findByNameIn(Collection<String> names);
+
     /**
      * 根据库名称和版本查找公共库
      */
@@ -37,14 +48,9 @@ public interface CommonLibraryRepository extends JpaRepository<CommonLibrary, Lo
     boolean existsByNameAndVersion(String name, String version);
 
     /**
-     * 根据库类型查找
-     */
-    List<CommonLibrary> findByLibraryType(LibraryType libraryType);
-
-    /**
-     * 根据分类查找
+     * 根据分类查找公共库（分页）
      */
-    List<CommonLibrary> findByCategory(String category);
+    Page<CommonLibrary> findByCategory(String category, Pageable pageable);
 
     /**
      * 搜索公共库（按名称或描述）
@@ -54,6 +60,27 @@ public interface CommonLibraryRepository extends JpaRepository<CommonLibrary, Lo
            "LOWER(l.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<CommonLibrary> searchLibraries(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * 按相关度搜索公共库 ID（PostgreSQL，使用 V11 创建的 pg_trgm 索引）
+     * 匹配名称和描述，名称完全相同的排在最前，其余按三元组词相似度排序；
+     * keyword 须为小写，pattern 为转义后的 %keyword%，libraryType 为 null 时不按类型过滤
+     */
+    @Query(value = "SELECT l.id FROM common_libraries l WHERE " +
+                   "(CAST(:libraryType AS VARCHAR) IS NULL OR l.library_type = CAST(:libraryType AS VARCHAR)) AND " +
+                   "(lower(l.name) LIKE :pattern OR lower(l.description) LIKE :pattern) " +
+                   "ORDER BY CASE WHEN lower(l.name) = :keyword THEN 1 ELSE 0 END DESC, " +
+                   "GREATEST(word_similarity(:keyword, lower(l.name)), " +
+                   "0.5 * word_similarity(:keyword, lower(coalesce(l.description, '')))) DESC, " +
+                   "l.id DESC",
+           countQuery = "SELECT count(*) FROM common_libraries l WHERE " +
+                        "(CAST(:libraryType AS VARCHAR) IS NULL OR l.library_type = CAST(:libraryType AS VARCHAR)) AND " +
+                        "(lower(l.name) LIKE :pattern OR lower(l.description) LIKE :pattern)",
+           nativeQuery = true)
+    Page<Long> searchIdsByRelevance(@Param("keyword") String keyword,
+                                    @Param("pattern") String pattern,
+                                    @Param("libraryType") String libraryType,
+                                    Pageable pageable);
+
     /**
      * 根据类型搜索公共库（按名称或描述）
      */
@@ -85,10 +112,47 @@ public interface CommonLibraryRepository extends JpaRepository<CommonLibrary, Lo
     @Query("SELECT l FROM CommonLibrary l " +
            "LEFT JOIN FETCH l.files " +
            "WHERE l.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CommonLibrary> findByIdWithFiles(@Param("id") Long id);
 
     /**
      * 根据创建人查找
      */
     List<CommonLibrary> findByCreatedBy(String createdBy);
+
+    /**
+     * 按游标搜索公共库的第一页（按创建时间、ID 倒序，不执行 count 查询）
+     * libraryType、keyword 为 null 时不过滤
+     */
+    @Query("SELECT l FROM CommonLibrary l WHERE " +
+           "(:libraryType IS NULL OR l.libraryType = :libraryType) AND " +
+           "(:keyword IS NULL OR LOWER(l.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(l.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    Slice<CommonLibrary> searchFirstSlice(@Param("libraryType") LibraryType libraryType,
+                                          @Param("keyword") String keyword,
+                                          Pageable pageable);
+
+    /**
+     * 按游标搜索公共库（按创建时间、ID 倒序，取 (createdAt, id) 之后的一页，不执行 count 查询）
+     * 冗余条件 createdAt <= :createdAt 作为 (created_at DESC, id DESC) 索引扫描的起点，任意深度只读取当前页；
+     * libraryType、keyword 为 null 时不过滤
+     */
+    @Query("SELECT l FROM CommonLibrary l WHERE " +
+           "(:libraryType IS NULL OR l.libraryType = :libraryType) AND " +
+           "(:keyword IS NULL OR LOWER(l.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(l.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+           "l.createdAt <= :createdAt AND " +
+           "(l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id))")
+    Slice<CommonLibrary> searchSliceBefore(@Param("libraryType") LibraryType libraryType,
+                                           @Param("keyword") String keyword,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * 根据统计信息估算公共库数量（不扫描表，仅 PostgreSQL；未分析的表返回 -1，经 RowCountEstimator 调用）
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('common_libraries' AS regclass)",
+           nativeQuery = true)
+    Long estimateCount();
 }
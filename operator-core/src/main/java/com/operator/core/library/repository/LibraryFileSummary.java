@@ -0,0 +1,21 @@
+package com.operator.core.library.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 公共库文件元数据投影（不包含代码内容），用于公共库列表
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public record LibraryFileSummary(
+        Long id,
+        Long libraryId,
+        String fileName,
+        String filePath,
+        Integer orderIndex,
+        Long fileSize,
+        String contentHash,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,6 +33,14 @@ public interface OperatorCommonLibraryRepository extends JpaRepository<OperatorC
      */
     boolean existsByOperatorIdAndLibraryId(Long operatorId, Long libraryId);
 
+    /**
+     * 查询指定算子与公共库之间已存在的关联：[算子ID, 公共库ID]
+     */
+    @Query("SELECT ocl.operator.id, ocl.library.id FROM OperatorCommonLibrary ocl " +
+           "WHERE ocl.operator.id IN :operatorIds AND ocl.library.id IN :libraryIds")
+    List<Object[]> findLinkPairs(@Param("operatorIds") Collection<Long> operatorIds,
+                                 @Param("libraryIds") Collection<Long> libraryIds);
+
     /**
      * 根据算子ID查找所有依赖的公共库（带公共库详情）
      */
@@ -40,6 +49,15 @@ public interface OperatorCommonLibraryRepository extends JpaRepository<OperatorC
            "WHERE ocl.operator.id = :operatorId")
     List<OperatorCommonLibrary> findByOperatorIdWithLibrary(@Param("operatorId") Long operatorId);
 
+    /**
+     * 批量查询多个算子依赖的公共库（带公共库详情），按算子分组排序
+     */
+    @Query("SELECT ocl FROM OperatorCommonLibrary ocl " +
+           "JOIN FETCH ocl.library " +
+           "WHERE ocl.operator.id IN :operatorIds " +
+           "ORDER BY ocl.operator.id, ocl.id")
+    List<OperatorCommonLibrary> findByOperatorIdInWithLibrary(@Param("operatorIds") Collection<Long> operatorIds);
+
     /**
      * 删除算子对公共库的所有依赖
      */
@@ -55,4 +73,16 @@ public interface OperatorCommonLibraryRepository extends JpaRepository<OperatorC
      */
     @Query("SELECT COUNT(ocl) FROM OperatorCommonLibrary ocl WHERE ocl.library.id = :libraryId")
     long countByLibraryId(@Param("libraryId") Long libraryId);
+
+    /**
+     * 按公共库分组统计使用它的算子数量：[公共库ID, 数量]，未被使用的公共库不返回
+     */
+    @Query("SELECT ocl.library.id, COUNT(ocl) FROM OperatorCommonLibrary ocl " +
+           "WHERE ocl.library.id IN :libraryIds GROUP BY ocl.library.id")
+    List<Object[]> countByLibraryIds(@Param("libraryIds") Collection<Long> libraryIds);
+
+    /**
+     * 检查公共库是否被算子使用
+     */
+    boolean existsByLibraryId(Long libraryId);
 }
@@ -2,10 +2,12 @@ package com.operator.core.library.repository;
 
 import com.operator.core.library.domain.PackageCommonLibrary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,6 +34,19 @@ public interface PackageCommonLibraryRepository extends JpaRepository<PackageCom
      */
     boolean existsByOperatorPackageIdAndLibraryId(Long packageId, Long libraryId);
 
+    /**
+     * 查询算子包已包含的公共库ID
+     */
+    @Query("SELECT pcl.library.id FROM PackageCommonLibrary pcl WHERE pcl.operatorPackage.id = :packageId")
+    List<Long> findLibraryIdsByPackageId(@Param("packageId") Long packageId);
+
+    /**
+     * 按算子包分组统计公共库数量：[算子包ID, 数量]，没有公共库的算子包不返回
+     */
+    @Query("SELECT pcl.operatorPackage.id, COUNT(pcl) FROM PackageCommonLibrary pcl " +
+           "WHERE pcl.operatorPackage.id IN :packageIds GROUP BY pcl.operatorPackage.id")
+    List<Object[]> countByPackageIds(@Param("packageIds") Collection<Long> packageIds);
+
     /**
      * 根据算子包和公共库ID查找关联
      */
@@ -46,6 +61,17 @@ public interface PackageCommonLibraryRepository extends JpaRepository<PackageCom
            "ORDER BY pcl.orderIndex ASC")
     List<PackageCommonLibrary> findByOperatorPackageIdWithLibrary(@Param("packageId") Long packageId);
 
+    /**
+     * 查询算子包的构建指纹：[关联ID, 关联更新时间, 公共库ID, 公共库更新时间, 文件ID, 文件更新时间]
+     * 用于计算算子包构建缓存键，不加载文件内容
+     */
+    @Query("SELECT pcl.id, pcl.updatedAt, l.id, l.updatedAt, f.id, f.updatedAt FROM PackageCommonLibrary pcl " +
+           "JOIN pcl.library l " +
+           "LEFT JOIN l.files f " +
+           "WHERE pcl.operatorPackage.id = :packageId " +
+           "ORDER BY pcl.orderIndex ASC, pcl.id ASC, f.orderIndex ASC, f.id ASC")
+    List<Object[]> findBuildFingerprintByPackageId(@Param("packageId") Long packageId);
+
     /**
      * 删除算子包的所有公共库
      */
@@ -56,6 +82,15 @@ public interface PackageCommonLibraryRepository extends JpaRepository<PackageCom
      */
     void deleteByOperatorPackageIdAndOperatorId(Long packageId, Long operatorId);
 
+    /**
+     * 批量删除多个算子在算子包中的公共库（单条 DELETE 语句）
+     */
+    @Modifying
+    @Query("DELETE FROM PackageCommonLibrary pcl " +
+           "WHERE pcl.operatorPackage.id = :packageId AND pcl.operator.id IN :operatorIds")
+    int deleteByPackageIdAndOperatorIds(@Param("packageId") Long packageId,
+                                        @Param("operatorIds") Collection<Long> operatorIds);
+
     /**
      * 删除公共库的所有包关联
      */
@@ -12,6 +12,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,11 +25,14 @@ import java.util.List;
  * @version 1.0.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "operators", indexes = {
     @Index(name = "idx_operator_name", columnList = "name"),
     @Index(name = "idx_operator_status", columnList = "status"),
     @Index(name = "idx_operator_language", columnList = "language"),
-    @Index(name = "idx_operator_created_by", columnList = "created_by")
+    @Index(name = "idx_operator_created_by", columnList = "created_by"),
+    @Index(name = "idx_operator_created_at", columnList = "created_at DESC, id DESC")
 })
 @Data
 @Builder
@@ -68,7 +73,8 @@ public class Operator extends BaseEntity {
     @Builder.Default
     private Boolean isPublic = false;
 
-    @Column(name = "downloads_count")
+    // Only written by the download counter flush, so entity saves never overwrite flushed counts
+    @Column(name = "downloads_count", updatable = false)
     @Builder.Default
     private Integer downloadsCount = 0;
 
@@ -99,5 +105,6 @@ public class Operator extends BaseEntity {
 
     @OneToMany(mappedBy = "operator", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Parameter> parameters = new ArrayList<>();
 }
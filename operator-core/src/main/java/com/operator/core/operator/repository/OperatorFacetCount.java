@@ -0,0 +1,11 @@
+package com.operator.core.operator.repository;
+
+/**
+ * One facet bucket: number of operators with {@code value} in {@code facet}
+ * ({@code facet} is language, status, dataFormat, generator or total; {@code value} may be null)
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public record OperatorFacetCount(String facet, String value, long count) {
+}
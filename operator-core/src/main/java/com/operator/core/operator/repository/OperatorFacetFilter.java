@@ -0,0 +1,18 @@
+package com.operator.core.operator.repository;
+
+import com.operator.common.enums.LanguageType;
+import com.operator.common.enums.OperatorStatus;
+
+/**
+ * Active catalog filters for facet counts (null fields are not filtered)
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public record OperatorFacetFilter(
+        LanguageType language,
+        OperatorStatus status,
+        String dataFormat,
+        String generator,
+        String keyword) {
+}
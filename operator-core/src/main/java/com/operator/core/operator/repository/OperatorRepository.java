@@ -3,13 +3,19 @@ package com.operator.core.operator.repository;
 import com.operator.common.enums.LanguageType;
 import com.operator.common.enums.OperatorStatus;
 import com.operator.core.operator.domain.Operator;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +26,8 @@ import java.util.Optional;
  * @version 1.0.0
  */
 @Repository
-public interface OperatorRepository extends JpaRepository<Operator, Long> {
+public interface OperatorRepository extends JpaRepository<Operator, Long>, JpaSpecificationExecutor<Operator>,
+        OperatorRepositoryCustom {
 
     /**
      * Find operators by status
@@ -50,6 +57,30 @@ public interface OperatorRepository extends JpaRepository<Operator, Long> {
            "LOWER(o.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Operator> searchOperators(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * Search operator ids by relevance (PostgreSQL, uses the pg_trgm indexes from V11).
+     * Matches name, description, operator code and object code; exact name/code matches rank first,
+     * then trigram word similarity. {@code keyword} must be lower case and {@code pattern} its
+     * escaped {@code %keyword%} form
+     */
+    @Query(value = "SELECT o.id FROM operators o WHERE " +
+                   "lower(o.name) LIKE :pattern OR lower(o.description) LIKE :pattern OR " +
+                   "lower(o.operator_code) LIKE :pattern OR lower(o.object_code) LIKE :pattern " +
+                   "ORDER BY CASE WHEN lower(o.name) = :keyword OR lower(o.operator_code) = :keyword " +
+                   "OR lower(o.object_code) = :keyword THEN 1 ELSE 0 END DESC, " +
+                   "GREATEST(word_similarity(:keyword, lower(o.name)), " +
+                   "word_similarity(:keyword, lower(o.operator_code)), " +
+                   "word_similarity(:keyword, lower(o.object_code)), " +
+                   "0.5 * word_similarity(:keyword, lower(coalesce(o.description, '')))) DESC, " +
+                   "o.id DESC",
+           countQuery = "SELECT count(*) FROM operators o WHERE " +
+                        "lower(o.name) LIKE :pattern OR lower(o.description) LIKE :pattern OR " +
+                        "lower(o.operator_code) LIKE :pattern OR lower(o.object_code) LIKE :pattern",
+           nativeQuery = true)
+    Page<Long> searchIdsByRelevance(@Param("keyword") String keyword,
+                                    @Param("pattern") String pattern,
+                                    Pageable pageable);
+
     /**
      * Find operators by creator
      */
@@ -84,15 +115,59 @@ public interface OperatorRepository extends JpaRepository<Operator, Long> {
     @Query("SELECT o FROM Operator o " +
            "LEFT JOIN FETCH o.parameters " +
            "WHERE o.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Operator> findByIdWithAssociations(@Param("id") Long id);
 
     /**
      * Find operator by operator code
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Operator> findByOperatorCode(String operatorCode);
 
+    /**
+     * Find operators by operator codes
+     */
+    List<Operator> findByOperatorCodeIn(Collection<String> operatorCodes);
+
+    /**
+     * Find operator id and name by ids: [id, name] (no code or parameters loaded)
+     */
+    @Query("SELECT o.id, o.name FROM Operator o WHERE o.id IN :ids")
+    List<Object[]> findIdAndNameByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Load the code of one operator (package build, no other columns loaded)
+     */
+    @Query("SELECT o.code FROM Operator o WHERE o.id = :id")
+    String findCodeById(@Param("id") Long id);
+
     /**
      * Check if operator code exists
      */
     boolean existsByOperatorCode(String operatorCode);
+
+    /**
+     * Load operator id and code in id order after {@code afterId} (code search index build)
+     */
+    @Query("SELECT o.id, o.code FROM Operator o WHERE o.id > :afterId ORDER BY o.id")
+    List<Object[]> findCodeBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Add to the download count in place (download counter flush).
+     * The query space matches no entity table, so Hibernate does not evict the whole Operator cache region;
+     * the caller evicts the updated ids. No cached query filters or sorts on the download count
+     */
+    @Modifying
+    @Query(value = "UPDATE operators SET downloads_count = COALESCE(downloads_count, 0) + :delta WHERE id = :id",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "operator_download_counts"))
+    int addDownloads(@Param("id") Long id, @Param("delta") Long delta);
+
+    /**
+     * Estimate the number of operators from planner statistics (no table scan).
+     * PostgreSQL only and -1 before the table is analyzed; call through RowCountEstimator
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('operators' AS regclass)",
+           nativeQuery = true)
+    Long estimateCount();
 }
@@ -0,0 +1,35 @@
+package com.operator.core.operator.repository;
+
+import com.operator.core.operator.domain.Operator;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Custom queries for Operator entity
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public interface OperatorRepositoryCustom {
+
+    /**
+     * Find operator summaries matching the specification, selecting only the summary columns
+     */
+    Page<OperatorSummary> findSummaries(Specification<Operator> spec, Pageable pageable);
+
+    /**
+     * Find at most {@code limit} operator summaries matching the specification, without a count query
+     */
+    List<OperatorSummary> findSummaries(Specification<Operator> spec, Sort sort, int limit);
+
+    /**
+     * Count operators per language, status, data format and generator (plus the total)
+     * over the operators matching the filter: one GROUPING SETS query on PostgreSQL,
+     * one GROUP BY query per facet on other databases (H2)
+     */
+    List<OperatorFacetCount> countFacets(OperatorFacetFilter filter);
+}
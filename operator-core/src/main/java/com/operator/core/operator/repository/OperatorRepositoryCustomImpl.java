@@ -0,0 +1,227 @@
+package com.operator.core.operator.repository;
+
+import com.operator.common.utils.LikePatterns;
+import com.operator.core.operator.domain.Operator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom query implementation for Operator entity
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public class OperatorRepositoryCustomImpl implements OperatorRepositoryCustom {
+
+    /**
+     * Facet names, which are also the grouped Operator attributes
+     */
+    private static final List<String> FACETS = List.of("language", "status", "dataFormat", "generator");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Whether the database is PostgreSQL (GROUPING SETS available), resolved on first use
+     */
+    private volatile Boolean postgres;
+
+    @Override
+    public Page<OperatorSummary> findSummaries(Specification<Operator> spec, Pageable pageable) {
+        TypedQuery<OperatorSummary> typedQuery = createSummaryQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<OperatorSummary> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<OperatorSummary> findSummaries(Specification<Operator> spec, Sort sort, int limit) {
+        return createSummaryQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<OperatorFacetCount> countFacets(OperatorFacetFilter filter) {
+        return isPostgres() ? countFacetsWithGroupingSets(filter) : countFacetsByDimension(filter);
+    }
+
+    /**
+     * All facets and the total in one GROUPING SETS query (PostgreSQL)
+     */
+    private List<OperatorFacetCount> countFacetsWithGroupingSets(OperatorFacetFilter filter) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT CASE WHEN GROUPING(o.language) = 0 THEN 'language' " +
+                "WHEN GROUPING(o.status) = 0 THEN 'status' " +
+                "WHEN GROUPING(o.data_format) = 0 THEN 'dataFormat' " +
+                "WHEN GROUPING(o.generator) = 0 THEN 'generator' " +
+                "ELSE 'total' END, " +
+                "COALESCE(o.language, o.status, o.data_format, o.generator), " +
+                "count(*) " +
+                "FROM operators o WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        appendFacetFilters(sql, parameters, filter, true);
+        sql.append(" GROUP BY GROUPING SETS ((o.language), (o.status), (o.data_format), (o.generator), ())");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        parameters.forEach(query::setParameter);
+
+        List<OperatorFacetCount> counts = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            counts.add(new OperatorFacetCount(
+                    (String) columns[0],
+                    (String) columns[1],
+                    ((Number) columns[2]).longValue()));
+        }
+        return counts;
+    }
+
+    /**
+     * One GROUP BY query per facet plus a total count (databases without GROUPING SETS, e.g. H2)
+     */
+    private List<OperatorFacetCount> countFacetsByDimension(OperatorFacetFilter filter) {
+        List<OperatorFacetCount> counts = new ArrayList<>();
+        for (String facet : FACETS) {
+            StringBuilder jpql = new StringBuilder("SELECT o." + facet + ", count(o) FROM Operator o WHERE 1 = 1");
+            Map<String, Object> parameters = new LinkedHashMap<>();
+            appendFacetFilters(jpql, parameters, filter, false);
+            jpql.append(" GROUP BY o.").append(facet);
+
+            TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+            parameters.forEach(query::setParameter);
+            for (Object[] row : query.getResultList()) {
+                Object value = row[0] instanceof Enum<?> e ? e.name() : row[0];
+                counts.add(new OperatorFacetCount(facet, (String) value, ((Number) row[1]).longValue()));
+            }
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT count(o) FROM Operator o WHERE 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        appendFacetFilters(jpql, parameters, filter, false);
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        parameters.forEach(query::setParameter);
+        counts.add(new OperatorFacetCount("total", null, query.getSingleResult()));
+        return counts;
+    }
+
+    /**
+     * Append the active facet filters as native SQL (column names, enum names) or JPQL (attributes, enums).
+     * The keyword is matched as a contains pattern with LIKE wildcards escaped
+     */
+    private void appendFacetFilters(StringBuilder query, Map<String, Object> parameters,
+                                    OperatorFacetFilter filter, boolean nativeQuery) {
+        if (filter.language() != null) {
+            query.append(" AND o.language = :language");
+            parameters.put("language", nativeQuery ? filter.language().name() : filter.language());
+        }
+        if (filter.status() != null) {
+            query.append(" AND o.status = :status");
+            parameters.put("status", nativeQuery ? filter.status().name() : filter.status());
+        }
+        if (filter.dataFormat() != null) {
+            query.append(nativeQuery ? " AND o.data_format = :dataFormat" : " AND o.dataFormat = :dataFormat");
+            parameters.put("dataFormat", filter.dataFormat());
+        }
+        if (filter.generator() != null) {
+            query.append(" AND o.generator = :generator");
+            parameters.put("generator", filter.generator());
+        }
+        if (filter.keyword() != null) {
+            query.append(" AND (lower(o.name) LIKE :pattern ESCAPE '\\' " +
+                         "OR lower(o.description) LIKE :pattern ESCAPE '\\')");
+            parameters.put("pattern", LikePatterns.contains(filter.keyword()));
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean postgres = this.postgres;
+        if (postgres == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect();
+            postgres = dialect instanceof PostgreSQLDialect;
+            this.postgres = postgres;
+        }
+        return postgres;
+    }
+
+    private TypedQuery<OperatorSummary> createSummaryQuery(Specification<Operator> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<OperatorSummary> query = cb.createQuery(OperatorSummary.class);
+        Root<Operator> root = query.from(Operator.class);
+        query.select(cb.construct(OperatorSummary.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("description"),
+                root.get("language"),
+                root.get("status"),
+                root.get("version"),
+                root.get("fileName"),
+                root.get("fileSize"),
+                root.get("isPublic"),
+                root.get("downloadsCount"),
+                root.get("featured"),
+                root.get("operatorCode"),
+                root.get("objectCode"),
+                root.get("dataFormat"),
+                root.get("generator"),
+                root.get("createdBy"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+        Predicate predicate = toPredicate(spec, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Operator> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Operator> root = query.from(Operator.class);
+        query.select(cb.count(root));
+        Predicate predicate = toPredicate(spec, root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Predicate toPredicate(Specification<Operator> spec, Root<Operator> root,
+                                  CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return spec != null ? spec.toPredicate(root, query, cb) : null;
+    }
+}
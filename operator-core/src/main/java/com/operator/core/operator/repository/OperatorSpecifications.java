@@ -0,0 +1,96 @@
+package com.operator.core.operator.repository;
+
+import com.operator.common.enums.LanguageType;
+import com.operator.common.enums.OperatorStatus;
+import com.operator.common.utils.LikePatterns;
+import com.operator.core.operator.domain.Operator;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Query specifications for Operator entity
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public final class OperatorSpecifications {
+
+    /**
+     * Escape character of {@link LikePatterns} patterns
+     */
+    private static final char ESCAPE = '\\';
+
+    private OperatorSpecifications() {
+    }
+
+    /**
+     * Operators written in the given language
+     */
+    public static Specification<Operator> hasLanguage(LanguageType language) {
+        return (root, query, cb) -> cb.equal(root.get("language"), language);
+    }
+
+    /**
+     * Operators with the given status
+     */
+    public static Specification<Operator> hasStatus(OperatorStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Operators whose name or description contains the keyword literally (case-insensitive)
+     */
+    public static Specification<Operator> nameOrDescriptionContains(String keyword) {
+        return (root, query, cb) -> {
+            String pattern = LikePatterns.contains(keyword);
+            return cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern, ESCAPE),
+                    cb.like(cb.lower(root.get("description")), pattern, ESCAPE));
+        };
+    }
+
+    /**
+     * Operators whose name, description, operator code or object code contains the keyword literally (case-insensitive)
+     */
+    public static Specification<Operator> keywordMatches(String keyword) {
+        return (root, query, cb) -> {
+            String pattern = LikePatterns.contains(keyword);
+            return cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern, ESCAPE),
+                    cb.like(cb.lower(root.get("description")), pattern, ESCAPE),
+                    cb.like(cb.lower(root.get("operatorCode")), pattern, ESCAPE),
+                    cb.like(cb.lower(root.get("objectCode")), pattern, ESCAPE));
+        };
+    }
+
+    /**
+     * Operators with the given ids
+     */
+    public static Specification<Operator> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Operators after the given keyset position in (createdAt DESC, id DESC) order.
+     * The redundant createdAt &lt;= bound is the start of the idx_operator_created_at index scan,
+     * so any depth reads only the page's rows
+     */
+    public static Specification<Operator> createdBefore(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.<LocalDateTime>get("createdAt"), createdAt),
+                cb.or(
+                        cb.lessThan(root.<LocalDateTime>get("createdAt"), createdAt),
+                        cb.and(
+                                cb.equal(root.get("createdAt"), createdAt),
+                                cb.lessThan(root.<Long>get("id"), id))));
+    }
+
+    /**
+     * Operators created by the given user
+     */
+    public static Specification<Operator> createdBy(String username) {
+        return (root, query, cb) -> cb.equal(root.get("createdBy"), username);
+    }
+}
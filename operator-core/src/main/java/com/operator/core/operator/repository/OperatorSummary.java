@@ -0,0 +1,34 @@
+package com.operator.core.operator.repository;
+
+import com.operator.common.enums.LanguageType;
+import com.operator.common.enums.OperatorStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight operator projection for list and search pages
+ * (excludes code, business logic and parameters)
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public record OperatorSummary(
+        Long id,
+        String name,
+        String description,
+        LanguageType language,
+        OperatorStatus status,
+        String version,
+        String fileName,
+        Long fileSize,
+        Boolean isPublic,
+        Integer downloadsCount,
+        Boolean featured,
+        String operatorCode,
+        String objectCode,
+        String dataFormat,
+        String generator,
+        String createdBy,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
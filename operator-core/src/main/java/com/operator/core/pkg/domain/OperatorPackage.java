@@ -9,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,10 +22,13 @@ import java.util.List;
  * @version 1.0.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "operator_packages", indexes = {
     @Index(name = "idx_package_name", columnList = "name"),
     @Index(name = "idx_package_status", columnList = "status"),
-    @Index(name = "idx_package_business_scenario", columnList = "business_scenario")
+    @Index(name = "idx_package_business_scenario", columnList = "business_scenario"),
+    @Index(name = "idx_package_created_at", columnList = "created_at DESC, id DESC")
 })
 @Data
 @Builder
@@ -53,7 +58,8 @@ public class OperatorPackage extends BaseEntity {
     @Builder.Default
     private Boolean isPublic = false;
 
-    @Column(name = "downloads_count")
+    // Only written by the download counter flush, so entity saves never overwrite flushed counts
+    @Column(name = "downloads_count", updatable = false)
     @Builder.Default
     private Integer downloadsCount = 0;
 
@@ -78,6 +84,7 @@ public class OperatorPackage extends BaseEntity {
 
     @OneToMany(mappedBy = "operatorPackage", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<PackageOperator> packageOperators = new ArrayList<>();
 
     /**
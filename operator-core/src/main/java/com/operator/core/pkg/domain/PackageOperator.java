@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Package Operator Entity - represents the relationship between package and operator
@@ -17,6 +19,8 @@ import lombok.NoArgsConstructor;
  * @version 1.0.0
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "package_operators", indexes = {
     @Index(name = "idx_pkg_op_package", columnList = "package_id"),
     @Index(name = "idx_pkg_op_operator", columnList = "operator_id"),
@@ -1,13 +1,19 @@
 package com.operator.core.pkg.repository;
 
 import com.operator.core.pkg.domain.OperatorPackage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -43,6 +49,86 @@ public interface OperatorPackageRepository extends JpaRepository<OperatorPackage
            "LOWER(p.businessScenario) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<OperatorPackage> searchPackages(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * Find the first keyset page.
+     * The pageable supplies the page size and the (createdAt DESC, id DESC) sort; no count query is issued
+     */
+    @Query("SELECT p FROM OperatorPackage p")
+    Slice<OperatorPackage> findFirstSlice(Pageable pageable);
+
+    /**
+     * Find the keyset page after (createdAt, id) in (created_at DESC, id DESC) order.
+     * The row-value comparison is the start bound of the idx_package_created_at index scan, so any depth reads
+     * only the page's rows. The pageable supplies the page size only (unsorted); no count query is issued
+     */
+    @Query(value = "SELECT * FROM operator_packages p WHERE (p.created_at, p.id) < (:createdAt, :id) " +
+                   "ORDER BY p.created_at DESC, p.id DESC",
+           nativeQuery = true)
+    Slice<OperatorPackage> findSliceBefore(@Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * Add to the download count in place (download counter flush).
+     * The query space matches no entity table, so Hibernate does not evict the whole OperatorPackage cache
+     * region; the caller evicts the updated ids. No cached query filters or sorts on the download count
+     */
+    @Modifying
+    @Query(value = "UPDATE operator_packages SET downloads_count = COALESCE(downloads_count, 0) + :delta WHERE id = :id",
+           nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "package_download_counts"))
+    int addDownloads(@Param("id") Long id, @Param("delta") Long delta);
+
+    /**
+     * Decrement the operator count in place (batch remove), never below zero.
+     * Done in the database so concurrent adds and removes do not lose updates
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OperatorPackage p SET p.operatorCount = " +
+           "CASE WHEN COALESCE(p.operatorCount, 0) > :count THEN COALESCE(p.operatorCount, 0) - :count ELSE 0 END " +
+           "WHERE p.id = :id")
+    int decrementOperatorCount(@Param("id") Long id, @Param("count") int count);
+
+    /**
+     * Estimate the number of packages from planner statistics (no table scan).
+     * PostgreSQL only and -1 before the table is analyzed; call through RowCountEstimator
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('operator_packages' AS regclass)",
+           nativeQuery = true)
+    Long estimateCount();
+
+    /**
+     * Search package ids by relevance (PostgreSQL, uses the pg_trgm indexes from V11).
+     * Matches name, description and business scenario; exact name matches rank first, then trigram
+     * word similarity. {@code keyword} must be lower case and {@code pattern} its escaped {@code %keyword%} form
+     */
+    @Query(value = "SELECT p.id FROM operator_packages p WHERE " +
+                   "lower(p.name) LIKE :pattern OR lower(p.description) LIKE :pattern OR " +
+                   "lower(p.business_scenario) LIKE :pattern " +
+                   "ORDER BY CASE WHEN lower(p.name) = :keyword THEN 1 ELSE 0 END DESC, " +
+                   "GREATEST(word_similarity(:keyword, lower(p.name)), " +
+                   "word_similarity(:keyword, lower(p.business_scenario)), " +
+                   "0.5 * word_similarity(:keyword, lower(coalesce(p.description, '')))) DESC, " +
+                   "p.id DESC",
+           countQuery = "SELECT count(*) FROM operator_packages p WHERE " +
+                        "lower(p.name) LIKE :pattern OR lower(p.description) LIKE :pattern OR " +
+                        "lower(p.business_scenario) LIKE :pattern",
+           nativeQuery = true)
+    Page<Long> searchIdsByRelevance(@Param("keyword") String keyword,
+                                    @Param("pattern") String pattern,
+                                    Pageable pageable);
+
+    /**
+     * Check if package name exists
+     */
+    boolean existsByName(String name);
+
+    /**
+     * Find package names equal to the given name or matching the given LIKE prefix (backslash as escape character)
+     */
+    @Query("SELECT p.name FROM OperatorPackage p WHERE p.name = :name OR p.name LIKE :prefix ESCAPE '\\'")
+    List<String> findNamesByNameOrPrefix(@Param("name") String name, @Param("prefix") String prefix);
+
     /**
      * Find packages by business scenario
      */
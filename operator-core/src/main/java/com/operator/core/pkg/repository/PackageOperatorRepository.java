@@ -1,10 +1,17 @@
 package com.operator.core.pkg.repository;
 
 import com.operator.core.pkg.domain.PackageOperator;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,7 +31,8 @@ public interface PackageOperatorRepository extends JpaRepository<PackageOperator
             "LEFT JOIN FETCH po.operator " +
             "WHERE po.operatorPackage.id = :packageId " +
             "ORDER BY po.orderIndex ASC, po.createdAt DESC")
-    List<PackageOperator> findByOperatorPackageIdOrderByOrderIndexAscWithFetch(@org.springframework.data.repository.query.Param("packageId") Long packageId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<PackageOperator> findByOperatorPackageIdOrderByOrderIndexAscWithFetch(@Param("packageId") Long packageId);
 
     /**
      * Find package operators by package
@@ -34,16 +42,106 @@ public interface PackageOperatorRepository extends JpaRepository<PackageOperator
             "ORDER BY po.orderIndex ASC, po.createdAt DESC")
     List<PackageOperator> findByOperatorPackageIdOrderByOrderIndexAsc(Long packageId);
 
+    /**
+     * Find build fingerprint rows of a package: [packageOperatorId, orderIndex, updatedAt, operatorId, operatorCode, operatorUpdatedAt]
+     * Used to derive the package build cache key without loading operator code
+     */
+    @Query("SELECT po.id, po.orderIndex, po.updatedAt, o.id, o.operatorCode, o.updatedAt FROM PackageOperator po " +
+            "JOIN po.operator o " +
+            "WHERE po.operatorPackage.id = :packageId " +
+            "ORDER BY po.orderIndex ASC, po.createdAt DESC")
+    List<Object[]> findBuildFingerprintByPackageId(@Param("packageId") Long packageId);
+
+    /**
+     * Find package build entry rows of a package: [operatorId, operatorCode, name, objectCode, dataFormat, generator, orderIndex]
+     * Used to plan the package archive without loading operator code
+     */
+    @Query("SELECT o.id, o.operatorCode, o.name, o.objectCode, o.dataFormat, o.generator, po.orderIndex " +
+            "FROM PackageOperator po " +
+            "JOIN po.operator o " +
+            "WHERE po.operatorPackage.id = :packageId " +
+            "ORDER BY po.orderIndex ASC, po.createdAt DESC")
+    List<Object[]> findBuildEntriesByPackageId(@Param("packageId") Long packageId);
+
     /**
      * Find package operators by operator ID
      */
     List<PackageOperator> findByOperatorId(Long operatorId);
 
+    /**
+     * Count operators per package: [packageId, count] (packages without operators are omitted)
+     */
+    @Query("SELECT po.operatorPackage.id, COUNT(po) FROM PackageOperator po " +
+            "WHERE po.operatorPackage.id IN :packageIds GROUP BY po.operatorPackage.id")
+    List<Object[]> countByPackageIds(@Param("packageIds") Collection<Long> packageIds);
+
     /**
      * Find package operator by package and operator
      */
     Optional<PackageOperator> findByOperatorPackageIdAndOperatorId(Long packageId, Long operatorId);
 
+    /**
+     * Find which of the given operators are already in the package
+     */
+    @Query("SELECT po.operator.id FROM PackageOperator po " +
+            "WHERE po.operatorPackage.id = :packageId AND po.operator.id IN :operatorIds")
+    List<Long> findOperatorIdsByPackageIdAndOperatorIdIn(@Param("packageId") Long packageId,
+                                                         @Param("operatorIds") Collection<Long> operatorIds);
+
+    /**
+     * Insert package operators for the given operators in one statement (batch add), skipping
+     * operators that are already in the package. Version defaults the same way as a single add.
+     * The native query space limits second-level cache eviction to package operators
+     *
+     * @return number of inserted rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO package_operators (package_id, operator_id, version, order_index, enabled, " +
+            "use_custom_path, created_at, updated_at, created_by, updated_by) " +
+            "SELECT :packageId, o.id, CASE WHEN o.version IS NOT NULL THEN '1.0.0' END, :orderIndex, :enabled, " +
+            "false, :now, :now, :username, :username FROM operators o " +
+            "WHERE o.id IN (:operatorIds) AND NOT EXISTS (SELECT 1 FROM package_operators po " +
+            "WHERE po.package_id = :packageId AND po.operator_id = o.id) " +
+            "ORDER BY o.id",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "package_operators"))
+    int insertAll(@Param("packageId") Long packageId,
+                  @Param("operatorIds") Collection<Long> operatorIds,
+                  @Param("orderIndex") Integer orderIndex,
+                  @Param("enabled") Boolean enabled,
+                  @Param("username") String username,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * Find which of the given package operator ids belong to the package
+     */
+    @Query("SELECT po.id FROM PackageOperator po WHERE po.id IN :ids AND po.operatorPackage.id = :packageId")
+    List<Long> findIdsByPackageIdAndIdIn(@Param("packageId") Long packageId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Set the order index of package operators in one statement; rows of other packages are not touched.
+     * updatedAt is set explicitly (bulk updates bypass auditing) so the package build digest changes
+     *
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE PackageOperator po SET po.orderIndex = :orderIndex, po.updatedAt = :now, po.updatedBy = :username " +
+            "WHERE po.id IN :ids AND po.operatorPackage.id = :packageId")
+    int updateOrderIndex(@Param("packageId") Long packageId,
+                         @Param("ids") Collection<Long> ids,
+                         @Param("orderIndex") Integer orderIndex,
+                         @Param("username") String username,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Delete package operators in one statement; rows of other packages are not touched
+     *
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM PackageOperator po WHERE po.id IN :ids AND po.operatorPackage.id = :packageId")
+    int deleteByPackageIdAndIdIn(@Param("packageId") Long packageId, @Param("ids") Collection<Long> ids);
+
     /**
      * Check if operator exists in package
      */
@@ -2,7 +2,6 @@ package com.operator.infrastructure.security;
 
 import com.operator.common.enums.UserRole;
 import com.operator.common.enums.UserStatus;
-import com.operator.core.security.domain.User;
 import com.operator.core.security.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -38,6 +37,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -50,11 +50,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (token != null && jwtTokenProvider.validateToken(token)) {
             try {
                 Long userId = jwtTokenProvider.getUserIdFromToken(token);
-                Optional<User> userOptional = userRepository.findById(userId);
+                Optional<UserPrincipal> principalOptional = principalCache.get(userId, () -> userRepository.findById(userId)
+                        .filter(user -> user.getStatus() == UserStatus.ACTIVE)
+                        .map(UserPrincipal::create));
 
-                if (userOptional.isPresent() && userOptional.get().getStatus() == UserStatus.ACTIVE) {
-                    User user = userOptional.get();
-                    UserPrincipal userPrincipal = UserPrincipal.create(user);
+                if (principalOptional.isPresent()) {
+                    UserPrincipal userPrincipal = principalOptional.get();
 
                     // Create authentication token
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -67,7 +68,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     // Set authentication in SecurityContext
                     SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                    log.debug("User authenticated successfully: {}", user.getUsername());
+                    log.debug("User authenticated successfully: {}", userPrincipal.getUsername());
                 } else {
                     log.warn("User not found or inactive: {}", userId);
                     sendErrorResponse(response, HttpStatus.UNAUTHORIZED, "User not found or inactive");
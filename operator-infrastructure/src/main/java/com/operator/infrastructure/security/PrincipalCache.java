@@ -0,0 +1,86 @@
+package com.operator.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of authenticated principals, keyed by user id
+ *
+ * Lets JwtAuthenticationFilter skip the user lookup on every request. Only active users are cached.
+ * Entries expire after the configured TTL and are dropped once a change to the user (role, status,
+ * profile, password, deletion) commits or the user logs out. A principal loaded while such a change
+ * committed is not cached.
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private static final int MAX_ENTRIES = 10_000;
+
+    @Value("${jwt.principal-cache-ttl:30s}")
+    private Duration ttl;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Get the cached principal of a user, or load it; an empty result is not cached
+     */
+    public Optional<UserPrincipal> get(Long userId, Supplier<Optional<UserPrincipal>> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.loadedAt() < ttl.toNanos()) {
+            return Optional.of(entry.principal());
+        }
+
+        long loadedGeneration = generation.get();
+        Optional<UserPrincipal> principal = loader.get();
+        if (principal.isPresent() && generation.get() == loadedGeneration) {
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entries.put(userId, new Entry(principal.get(), now));
+        } else if (principal.isEmpty()) {
+            entries.remove(userId);
+        }
+        return principal;
+    }
+
+    /**
+     * Drop the cached principal of a user once the current transaction commits (immediately outside a transaction)
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        } else {
+            evict(userId);
+        }
+    }
+
+    private void evict(Long userId) {
+        generation.incrementAndGet();
+        entries.remove(userId);
+        log.debug("Evicted cached principal: {}", userId);
+    }
+
+    private record Entry(UserPrincipal principal, long loadedAt) {
+    }
+}
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -297,6 +298,54 @@ public class MinioStorageService {
         return uploadFile(objectName, file);
     }
 
+    /**
+     * Upload built package archive
+     */
+    public String uploadPackageFile(Long packageId, String fileName,
+                                    InputStream inputStream, long size) throws Exception {
+        String objectName = buildPackageBuildPath(packageId, fileName);
+        return uploadFile(objectName, inputStream, size, "application/zip");
+    }
+
+    /**
+     * Download built package archive
+     */
+    public InputStream downloadPackageFile(Long packageId, String fileName) throws Exception {
+        return downloadFile(buildPackageBuildPath(packageId, fileName));
+    }
+
+    /**
+     * Check if built package archive exists
+     */
+    public boolean packageFileExists(Long packageId, String fileName) {
+        return fileExists(buildPackageBuildPath(packageId, fileName));
+    }
+
+    /**
+     * List built package archive file names of a package
+     */
+    public List<String> listPackageFiles(Long packageId) throws Exception {
+        String prefix = buildPackageBuildPath(packageId, "");
+        ListObjectsArgs listObjectsArgs = ListObjectsArgs.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .recursive(true)
+                .build();
+
+        List<String> fileNames = new ArrayList<>();
+        for (Result<Item> result : minioClient.listObjects(listObjectsArgs)) {
+            fileNames.add(result.get().objectName().substring(prefix.length()));
+        }
+        return fileNames;
+    }
+
+    /**
+     * Delete built package archive
+     */
+    public void deletePackageFile(Long packageId, String fileName) throws Exception {
+        deleteFile(buildPackageBuildPath(packageId, fileName));
+    }
+
     /**
      * Upload task artifact
      */
@@ -320,6 +369,13 @@ public class MinioStorageService {
         return String.format("packages/%d/versions/%d/%s", packageId, versionId, fileName);
     }
 
+    /**
+     * Build package archive storage path
+     */
+    private String buildPackageBuildPath(Long packageId, String fileName) {
+        return String.format("packages/%d/builds/%s", packageId, fileName);
+    }
+
     /**
      * Build task storage path
      */
@@ -331,7 +387,7 @@ public class MinioStorageService {
      * Convert iterable to list
      */
     private List<Result> streamToList(Iterable<Result<Item>> iterable) {
-        List<Result> list = new java.util.ArrayList<>();
+        List<Result> list = new ArrayList<>();
         for (Result item : iterable) {
             list.add(item);
         }
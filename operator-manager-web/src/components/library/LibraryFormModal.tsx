@@ -70,9 +70,13 @@ const LibraryFormModal: React.FC<Props> = ({
       const values = await form.validateFields();
 
       setLoading(true);
+      // 编辑时保留原有文件（列表数据不含代码，需要从详情接口获取），新建时传空数组
+      const files = library
+        ? (await libraryApi.getLibraryById(library.id)).data.files || []
+        : [];
       const request: LibraryRequest = {
         ...values,
-        files: library?.files || [], // 编辑时保留原有文件，新建时传空数组
+        files,
       };
 
       if (library) {
@@ -117,6 +117,7 @@ export interface OperatorPackage {
   downloadsCount: number;
   featured: boolean;
   operatorCount: number;
+  commonLibraryCount?: number;
   operators: PackageOperator[];
   commonLibraries?: any[];
   createdBy: string;
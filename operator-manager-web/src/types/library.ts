@@ -10,8 +10,10 @@ export interface LibraryFileResponse {
     libraryId: number;
     fileName: string;
     filePath: string;
-    code: string;
+    code?: string;  // 列表接口只返回文件元数据，不包含代码
     orderIndex: number;
+    fileSize?: number;
+    contentHash?: string;
     createdAt: string;
     updatedAt: string;
 }
@@ -0,0 +1,99 @@
+package com.operator.service.download;
+
+import com.operator.core.operator.domain.Operator;
+import com.operator.core.operator.repository.OperatorRepository;
+import com.operator.core.pkg.domain.OperatorPackage;
+import com.operator.core.pkg.repository.OperatorPackageRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Download counters for operators and packages.
+ * Downloads accumulate in per-id {@link LongAdder}s, so the download path takes no row lock and
+ * writes nothing to the database; pending counts are flushed periodically (and on shutdown) as
+ * {@code downloads_count = downloads_count + delta} updates. Only the flushed ids are evicted from
+ * the second-level cache, so counts read from the catalog lag by at most one flush interval
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DownloadCounter {
+
+    private final OperatorRepository operatorRepository;
+    private final OperatorPackageRepository packageRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Pending downloads by operator id / package id. Entries are never removed: removing a drained
+     * adder could race with a concurrent increment, and ids are checked to exist before counting
+     */
+    private final ConcurrentMap<Long, LongAdder> operatorDownloads = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, LongAdder> packageDownloads = new ConcurrentHashMap<>();
+
+    public void incrementOperator(Long operatorId) {
+        operatorDownloads.computeIfAbsent(operatorId, id -> new LongAdder()).increment();
+    }
+
+    public void incrementPackage(Long packageId) {
+        packageDownloads.computeIfAbsent(packageId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Write pending downloads to the database
+     */
+    @Scheduled(fixedDelayString = "${operator.download-counter.flush-interval:30000}")
+    public void flush() {
+        flush(Operator.class, operatorDownloads, operatorRepository::addDownloads);
+        flush(OperatorPackage.class, packageDownloads, packageRepository::addDownloads);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(Class<?> entityClass, ConcurrentMap<Long, LongAdder> counters, BiConsumer<Long, Long> update) {
+        // sumThenReset drains each adder without blocking writers; increments racing with it go to the next flush
+        Map<Long, Long> deltas = new HashMap<>();
+        counters.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(id, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    deltas.forEach(update));
+            log.debug("Flushed {} download counts for {} ids", entityClass.getSimpleName(), deltas.size());
+        } catch (RuntimeException e) {
+            // Put the drained counts back so the next flush retries them
+            deltas.forEach((id, delta) -> counters.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+            log.error("Failed to flush {} download counts, will retry", entityClass.getSimpleName(), e);
+            return;
+        }
+
+        // Evict only the updated entities once committed, the rest of the cache region stays warm
+        deltas.keySet().forEach(id -> entityManagerFactory.getCache().evict(entityClass, id));
+    }
+}
@@ -1,6 +1,7 @@
 package com.operator.service.library;
 
 import com.operator.common.dto.library.*;
+import com.operator.common.utils.CursorPageResponse;
 import com.operator.common.utils.PageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -39,6 +40,15 @@ public interface CommonLibraryService {
     PageResponse<LibraryResponse> searchLibraries(String keyword, String libraryType,
                                                 Integer page, Integer size);
 
+    /**
+     * 按游标搜索公共库（按创建时间倒序）
+     *
+     * @param cursor 上一页返回的游标，第一页为 null
+     * @param withTotal 是否返回公共库总数估算值
+     */
+    CursorPageResponse<LibraryResponse> searchLibrariesByCursor(String keyword, String libraryType,
+                                                                String cursor, int size, boolean withTotal);
+
     /**
      * 根据类型获取公共库
      */
@@ -49,6 +59,21 @@ public interface CommonLibraryService {
      */
     Page<LibraryResponse> getLibrariesByCategory(String category, Pageable pageable);
 
+    /**
+     * 获取库文件（包含代码内容）
+     */
+    LibraryFileResponse getLibraryFile(Long libraryId, Long fileId);
+
+    /**
+     * 获取库文件元数据（不包含代码内容，用于内容下载前的 ETag 校验）
+     */
+    LibraryFileResponse getLibraryFileMetadata(Long libraryId, Long fileId);
+
+    /**
+     * 获取库文件代码内容（UTF-8 编码，只读取代码列）
+     */
+    byte[] getLibraryFileContent(Long libraryId, Long fileId);
+
     /**
      * 创建库文件（空文件，不包含代码）
      */
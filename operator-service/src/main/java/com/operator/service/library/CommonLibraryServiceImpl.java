@@ -4,24 +4,37 @@ import com.operator.common.dto.library.*;
 import com.operator.common.enums.LibraryType;
 import com.operator.common.exception.BadRequestException;
 import com.operator.common.exception.ResourceNotFoundException;
+import com.operator.common.utils.CursorPageResponse;
+import com.operator.common.utils.PageCursor;
 import com.operator.common.utils.PageResponse;
 import com.operator.core.library.domain.CommonLibrary;
 import com.operator.core.library.domain.CommonLibraryFile;
-import com.operator.core.library.domain.OperatorCommonLibrary;
 import com.operator.core.library.repository.CommonLibraryFileRepository;
 import com.operator.core.library.repository.CommonLibraryRepository;
+import com.operator.core.library.repository.LibraryFileSummary;
 import com.operator.core.library.repository.OperatorCommonLibraryRepository;
+import com.operator.core.support.RowCountEstimator;
+import com.operator.service.search.CatalogSearchEngine;
+import com.operator.service.search.CodeSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -35,9 +48,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CommonLibraryServiceImpl implements CommonLibraryService {
 
+    /**
+     * 游标分页排序，与 (createdAt, id) 游标一致
+     */
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "createdAt")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    /**
+     * 列表批量查询使用次数、文件元数据时每次查询的公共库数量
+     */
+    private static final int LIST_BATCH_SIZE = 1000;
+
     private final CommonLibraryRepository libraryRepository;
+    private final RowCountEstimator rowCountEstimator;
     private final CommonLibraryFileRepository libraryFileRepository;
     private final OperatorCommonLibraryRepository operatorCommonLibraryRepository;
+    private final CatalogSearchEngine catalogSearchEngine;
+    private final CodeSearchIndex codeSearchIndex;
 
     @Override
     @Transactional
@@ -72,7 +99,8 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
                         .code(fileRequest.getCode())
                         .orderIndex(fileRequest.getOrderIndex() != null ? fileRequest.getOrderIndex() : i)
                         .build();
-                libraryFileRepository.save(file);
+                file = libraryFileRepository.save(file);
+                codeSearchIndex.indexLibraryFile(library.getId(), file.getId(), file.getCode());
             }
         }
 
@@ -105,6 +133,7 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
 
         // 删除所有旧文件
         libraryFileRepository.deleteByLibraryId(id);
+        codeSearchIndex.removeLibrary(id);
 
         // 保存新文件
         if (request.getFiles() != null && !request.getFiles().isEmpty()) {
@@ -117,7 +146,8 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
                         .code(fileRequest.getCode())
                         .orderIndex(fileRequest.getOrderIndex() != null ? fileRequest.getOrderIndex() : i)
                         .build();
-                libraryFileRepository.save(file);
+                file = libraryFileRepository.save(file);
+                codeSearchIndex.indexLibraryFile(library.getId(), file.getId(), file.getCode());
             }
         }
 
@@ -134,12 +164,12 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
                 .orElseThrow(() -> new ResourceNotFoundException("公共库不存在"));
 
         // 检查是否有算子正在使用该库
-        List<OperatorCommonLibrary> dependencies = operatorCommonLibraryRepository.findByLibraryId(id);
-        if (!dependencies.isEmpty()) {
+        if (operatorCommonLibraryRepository.existsByLibraryId(id)) {
             throw new BadRequestException("该公共库正在被算子使用，无法删除");
         }
 
         libraryRepository.delete(library);
+        codeSearchIndex.removeLibrary(id);
     }
 
     @Override
@@ -151,7 +181,7 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
         LibraryResponse response = convertToResponse(library);
 
         // 计算使用次数
-        long usageCount = operatorCommonLibraryRepository.findByLibraryId(id).size();
+        long usageCount = operatorCommonLibraryRepository.countByLibraryId(id);
         response.setUsageCount(usageCount);
 
         return response;
@@ -170,42 +200,32 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
         );
 
         Page<CommonLibrary> libraryPage;
-
-        // 判断是否有 libraryType 参数
-        if (StringUtils.hasText(libraryType)) {
-            LibraryType type = LibraryType.valueOf(libraryType);
-            log.debug("按类型搜索：libraryType={}", type);
-            if (StringUtils.hasText(keyword)) {
-                // 同时按类型和关键词搜索
-                log.debug("同时按类型和关键词搜索");
-                libraryPage = libraryRepository.searchLibrariesByType(type, keyword, pageable);
-            } else {
-                // 仅按类型搜索
-                log.debug("仅按类型搜索");
-                libraryPage = libraryRepository.findByLibraryType(type, pageable);
-            }
+        LibraryType type = StringUtils.hasText(libraryType) ? LibraryType.valueOf(libraryType) : null;
+
+        if (StringUtils.hasText(keyword)) {
+            // 按关键词搜索（可同时按类型过滤），结果按相关度排序
+            log.debug("按关键词搜索：keyword={}, libraryType={}", keyword, type);
+            Page<Long> ids = catalogSearchEngine.searchLibraries(keyword, type,
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+            Map<Long, CommonLibrary> libraries = libraryRepository.findAllById(ids.getContent()).stream()
+                    .collect(Collectors.toMap(CommonLibrary::getId, Function.identity()));
+            List<CommonLibrary> ordered = ids.getContent().stream()
+                    .map(libraries::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            libraryPage = new PageImpl<>(ordered, ids.getPageable(), ids.getTotalElements());
+        } else if (type != null) {
+            // 仅按类型搜索
+            log.debug("仅按类型搜索：libraryType={}", type);
+            libraryPage = libraryRepository.findByLibraryType(type, pageable);
         } else {
-            // 未指定类型，搜索所有
-            log.debug("搜索所有库");
-            if (StringUtils.hasText(keyword)) {
-                log.debug("按关键词搜索：keyword={}", keyword);
-                libraryPage = libraryRepository.searchLibraries(keyword, pageable);
-            } else {
-                log.debug("查询所有库（无过滤条件）");
-                libraryPage = libraryRepository.findAll(pageable);
-            }
+            log.debug("查询所有库（无过滤条件）");
+            libraryPage = libraryRepository.findAll(pageable);
         }
 
         log.debug("查询结果：totalElements={}, contentSize={}", libraryPage.getTotalElements(), libraryPage.getContent().size());
 
-        List<LibraryResponse> responses = libraryPage.getContent().stream()
-                .map(lib -> {
-                    LibraryResponse response = convertToResponse(lib);
-                    long usageCount = operatorCommonLibraryRepository.findByLibraryId(lib.getId()).size();
-                    response.setUsageCount(usageCount);
-                    return response;
-                })
-                .collect(Collectors.toList());
+        List<LibraryResponse> responses = convertToListResponses(libraryPage.getContent());
 
         return PageResponse.<LibraryResponse>builder()
                 .totalElements(libraryPage.getTotalElements())
@@ -215,39 +235,88 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<LibraryResponse> searchLibrariesByCursor(String keyword, String libraryType,
+                                                                       String cursor, int size, boolean withTotal) {
+        log.debug("按游标搜索公共库：keyword={}, libraryType={}, cursor={}, size={}", keyword, libraryType, cursor, size);
+
+        PageCursor after = PageCursor.decode(cursor);
+        LibraryType type = StringUtils.hasText(libraryType) ? LibraryType.valueOf(libraryType) : null;
+        String filter = StringUtils.hasText(keyword) ? keyword : null;
+        Slice<CommonLibrary> libraries = after == null
+                ? libraryRepository.searchFirstSlice(type, filter, PageRequest.of(0, size, KEYSET_SORT))
+                : libraryRepository.searchSliceBefore(type, filter, after.createdAt(), after.id(),
+                        PageRequest.of(0, size, KEYSET_SORT));
+
+        List<LibraryResponse> responses = convertToListResponses(libraries.getContent());
+
+        PageCursor nextCursor = null;
+        if (libraries.hasNext()) {
+            CommonLibrary last = libraries.getContent().get(libraries.getNumberOfElements() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return CursorPageResponse.of(responses, size, nextCursor,
+                withTotal ? rowCountEstimator.estimate(libraryRepository::estimateCount, libraryRepository::count) : null);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<LibraryResponse> getLibrariesByType(String libraryType, Pageable pageable) {
         LibraryType type = LibraryType.valueOf(libraryType);
-        List<CommonLibrary> libraries = libraryRepository.findByLibraryType(type);
+        Page<CommonLibrary> libraries = libraryRepository.findByLibraryType(type, withDefaultSort(pageable));
 
-        List<LibraryResponse> responses = libraries.stream()
-                .map(lib -> {
-                    LibraryResponse response = convertToResponse(lib);
-                    long usageCount = operatorCommonLibraryRepository.findByLibraryId(lib.getId()).size();
-                    response.setUsageCount(usageCount);
-                    return response;
-                })
-                .collect(Collectors.toList());
+        List<LibraryResponse> responses = convertToListResponses(libraries.getContent());
 
-        return new org.springframework.data.domain.PageImpl<>(responses, pageable, libraries.size());
+        return new PageImpl<>(responses, libraries.getPageable(), libraries.getTotalElements());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<LibraryResponse> getLibrariesByCategory(String category, Pageable pageable) {
-        List<CommonLibrary> libraries = libraryRepository.findByCategory(category);
+        Page<CommonLibrary> libraries = libraryRepository.findByCategory(category, withDefaultSort(pageable));
+
+        List<LibraryResponse> responses = convertToListResponses(libraries.getContent());
+
+        return new PageImpl<>(responses, libraries.getPageable(), libraries.getTotalElements());
+    }
+
+    /**
+     * 未指定排序时按创建时间、ID 倒序，与 (类型|分类, created_at, id) 索引一致
+     */
+    private Pageable withDefaultSort(Pageable pageable) {
+        return pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), KEYSET_SORT);
+    }
+
+    /**
+     * 转换为列表响应 DTO：文件只包含元数据（不含代码），并填充使用次数；
+     * 文件元数据和使用次数按公共库批量查询，而不是逐个查询
+     */
+    private List<LibraryResponse> convertToListResponses(List<CommonLibrary> libraries) {
+        Map<Long, Long> usageCounts = new HashMap<>();
+        Map<Long, List<LibraryFileResponse>> filesByLibrary = new HashMap<>();
+        List<Long> libraryIds = libraries.stream().map(CommonLibrary::getId).toList();
+        for (int from = 0; from < libraryIds.size(); from += LIST_BATCH_SIZE) {
+            List<Long> chunk = libraryIds.subList(from, Math.min(from + LIST_BATCH_SIZE, libraryIds.size()));
+            for (Object[] row : operatorCommonLibraryRepository.countByLibraryIds(chunk)) {
+                usageCounts.put((Long) row[0], (Long) row[1]);
+            }
+            for (LibraryFileSummary file : libraryFileRepository.findSummariesByLibraryIds(chunk)) {
+                filesByLibrary.computeIfAbsent(file.libraryId(), key -> new ArrayList<>())
+                        .add(convertFileSummaryToResponse(file));
+            }
+        }
 
-        List<LibraryResponse> responses = libraries.stream()
+        return libraries.stream()
                 .map(lib -> {
-                    LibraryResponse response = convertToResponse(lib);
-                    long usageCount = operatorCommonLibraryRepository.findByLibraryId(lib.getId()).size();
-                    response.setUsageCount(usageCount);
+                    LibraryResponse response = convertToResponse(lib, filesByLibrary.getOrDefault(lib.getId(), List.of()));
+                    response.setUsageCount(usageCounts.getOrDefault(lib.getId(), 0L));
                     return response;
                 })
                 .collect(Collectors.toList());
-
-        return new org.springframework.data.domain.PageImpl<>(responses, pageable, libraries.size());
     }
 
     /**
@@ -258,6 +327,10 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
                 .map(this::convertFileToResponse)
                 .collect(Collectors.toList());
 
+        return convertToResponse(library, fileResponses);
+    }
+
+    private LibraryResponse convertToResponse(CommonLibrary library, List<LibraryFileResponse> fileResponses) {
         return LibraryResponse.builder()
                 .id(library.getId())
                 .name(library.getName())
@@ -283,11 +356,66 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
                 .filePath(file.getFilePath())
                 .code(file.getCode())
                 .orderIndex(file.getOrderIndex())
+                .fileSize(file.getFileSize())
+                .contentHash(file.getContentHash())
                 .createdAt(file.getCreatedAt())
                 .updatedAt(file.getUpdatedAt())
                 .build();
     }
 
+    /**
+     * 转换文件元数据为响应 DTO（不含代码）
+     */
+    private LibraryFileResponse convertFileSummaryToResponse(LibraryFileSummary file) {
+        return LibraryFileResponse.builder()
+                .id(file.id())
+                .libraryId(file.libraryId())
+                .fileName(file.fileName())
+                .filePath(file.filePath())
+                .orderIndex(file.orderIndex())
+                .fileSize(file.fileSize())
+                .contentHash(file.contentHash())
+                .createdAt(file.createdAt())
+                .updatedAt(file.updatedAt())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LibraryFileResponse getLibraryFile(Long libraryId, Long fileId) {
+        CommonLibraryFile file = libraryFileRepository.findById(fileId)
+                .orElseThrow(() -> new ResourceNotFoundException("文件不存在"));
+
+        // 验证文件属于该库
+        if (!file.getLibrary().getId().equals(libraryId)) {
+            throw new BadRequestException("文件不属于该公共库");
+        }
+
+        return convertFileToResponse(file);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LibraryFileResponse getLibraryFileMetadata(Long libraryId, Long fileId) {
+        LibraryFileSummary file = libraryFileRepository.findSummaryById(fileId)
+                .orElseThrow(() -> new ResourceNotFoundException("文件不存在"));
+
+        // 验证文件属于该库
+        if (!file.libraryId().equals(libraryId)) {
+            throw new BadRequestException("文件不属于该公共库");
+        }
+
+        return convertFileSummaryToResponse(file);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getLibraryFileContent(Long libraryId, Long fileId) {
+        // 只查询代码列，不加载实体（避免代码同时驻留在持久化上下文和二级缓存中），编码一次后即返回
+        String code = libraryFileRepository.findCodeByIdAndLibraryId(fileId, libraryId);
+        return code != null ? code.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
     @Override
     @Transactional
     public LibraryFileResponse createLibraryFile(Long libraryId, LibraryFileCreateRequest request, String username) {
@@ -304,6 +432,7 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
                 .build();
 
         file = libraryFileRepository.save(file);
+        codeSearchIndex.indexLibraryFile(libraryId, file.getId(), file.getCode());
 
         log.info("库文件创建成功：fileId={}", file.getId());
 
@@ -342,6 +471,7 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
             file.setCode(request.getCode());
             file.setUpdatedBy(username);
             libraryFileRepository.save(file);
+            codeSearchIndex.indexLibraryFile(libraryId, fileId, request.getCode());
             log.info("库文件内容更新成功：fileId={}", fileId);
         } else {
             throw new BadRequestException("文件不属于该公共库");
@@ -359,6 +489,7 @@ public class CommonLibraryServiceImpl implements CommonLibraryService {
         // 验证文件属于该库
         if (file.getLibrary().getId().equals(libraryId)) {
             libraryFileRepository.delete(file);
+            codeSearchIndex.removeLibraryFile(fileId);
             log.info("库文件删除成功：fileId={}", fileId);
         } else {
             throw new BadRequestException("文件不属于该公共库");
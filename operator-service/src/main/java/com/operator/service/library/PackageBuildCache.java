@@ -0,0 +1,227 @@
+package com.operator.service.library;
+
+import com.operator.infrastructure.storage.MinioStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 算子包构建缓存
+ * 以算子包内容摘要为键缓存已构建的压缩包，存储在本地磁盘，启用 MinIO 时同时上传到 MinIO
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PackageBuildCache {
+
+    private static final String FILE_SUFFIX = ".zip";
+
+    private final ObjectProvider<MinioStorageService> minioStorageServiceProvider;
+
+    @Value("${operator.package-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${operator.package-cache.dir:${java.io.tmpdir}/operator-package-cache}")
+    private String cacheDir;
+
+    /**
+     * 缓存是否启用
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 将缓存的压缩包写入输出流
+     *
+     * @param packageId 算子包ID
+     * @param digest 内容摘要
+     * @param outputStream 目标输出流
+     * @return 命中缓存返回 true，否则返回 false
+     */
+    public boolean copyTo(Long packageId, String digest, OutputStream outputStream) throws IOException {
+        if (!enabled) {
+            return false;
+        }
+
+        // 直接打开文件而不是先检查再复制：提交同一算子包的新摘要时旧文件可能被并发删除，此时按未命中处理
+        try (InputStream inputStream = Files.newInputStream(resolveFile(packageId, digest))) {
+            inputStream.transferTo(outputStream);
+            log.debug("算子包构建缓存命中（本地）：packageId={}, digest={}", packageId, digest);
+            return true;
+        } catch (NoSuchFileException e) {
+            log.debug("算子包构建缓存未命中（本地）：packageId={}, digest={}", packageId, digest);
+        }
+
+        MinioStorageService minioStorageService = minioStorageServiceProvider.getIfUnique();
+        if (minioStorageService == null || !minioStorageService.packageFileExists(packageId, digest + FILE_SUFFIX)) {
+            return false;
+        }
+
+        // 只有打开对象失败时按未命中处理；开始输出后的写出错误直接抛出
+        InputStream minioStream;
+        try {
+            minioStream = minioStorageService.downloadPackageFile(packageId, digest + FILE_SUFFIX);
+        } catch (Exception e) {
+            log.warn("从 MinIO 读取算子包构建缓存失败：packageId={}, digest={}", packageId, digest, e);
+            return false;
+        }
+        try (InputStream inputStream = minioStream) {
+            inputStream.transferTo(outputStream);
+        }
+        log.debug("算子包构建缓存命中（MinIO）：packageId={}, digest={}", packageId, digest);
+        return true;
+    }
+
+    /**
+     * 开始写入一个新的缓存条目
+     *
+     * @param packageId 算子包ID
+     * @param digest 内容摘要
+     * @return 待提交的缓存条目
+     */
+    public PendingEntry begin(Long packageId, String digest) throws IOException {
+        Path dir = resolveDir(packageId);
+        Files.createDirectories(dir);
+        Path tempFile = Files.createTempFile(dir, digest, ".tmp");
+        return new PendingEntry(packageId, digest, tempFile);
+    }
+
+    /**
+     * 清除算子包的所有缓存条目
+     *
+     * @param packageId 算子包ID
+     */
+    public void evict(Long packageId) {
+        deleteStaleFiles(packageId, null);
+
+        MinioStorageService minioStorageService = minioStorageServiceProvider.getIfUnique();
+        if (minioStorageService != null) {
+            deleteStaleObjects(minioStorageService, packageId, null);
+        }
+        log.debug("清除算子包构建缓存：packageId={}", packageId);
+    }
+
+    private void commit(Long packageId, String digest, Path tempFile) throws IOException {
+        Path target = resolveFile(packageId, digest);
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deleteStaleFiles(packageId, target);
+
+        MinioStorageService minioStorageService = minioStorageServiceProvider.getIfUnique();
+        if (minioStorageService != null) {
+            try (InputStream inputStream = Files.newInputStream(target)) {
+                minioStorageService.uploadPackageFile(packageId, digest + FILE_SUFFIX, inputStream, Files.size(target));
+            } catch (Exception e) {
+                log.warn("上传算子包构建缓存到 MinIO 失败：packageId={}, digest={}", packageId, digest, e);
+            }
+            deleteStaleObjects(minioStorageService, packageId, digest);
+        }
+
+        log.info("写入算子包构建缓存：packageId={}, digest={}", packageId, digest);
+    }
+
+    /**
+     * 删除算子包目录下除 keep 以外的所有缓存文件
+     */
+    private void deleteStaleFiles(Long packageId, Path keep) {
+        Path dir = resolveDir(packageId);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                if (!file.equals(keep)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理过期算子包构建缓存失败：packageId={}", packageId, e);
+        }
+    }
+
+    /**
+     * 删除 MinIO 中算子包构建目录下除 keepDigest 以外的所有缓存对象
+     * 按前缀列出对象而不依赖进程内记录，重启后仍能清理之前上传的过期对象
+     */
+    private void deleteStaleObjects(MinioStorageService minioStorageService, Long packageId, String keepDigest) {
+        String keep = keepDigest != null ? keepDigest + FILE_SUFFIX : null;
+        try {
+            for (String fileName : minioStorageService.listPackageFiles(packageId)) {
+                if (fileName.endsWith(FILE_SUFFIX) && !fileName.equals(keep)) {
+                    minioStorageService.deletePackageFile(packageId, fileName);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("清理 MinIO 中的过期算子包构建缓存失败：packageId={}", packageId, e);
+        }
+    }
+
+    private Path resolveDir(Long packageId) {
+        return Paths.get(cacheDir, String.valueOf(packageId));
+    }
+
+    private Path resolveFile(Long packageId, String digest) {
+        return resolveDir(packageId).resolve(digest + FILE_SUFFIX);
+    }
+
+    /**
+     * 待提交的缓存条目
+     * 未调用 {@link #commit()} 即关闭时丢弃临时文件
+     */
+    public class PendingEntry implements Closeable {
+
+        private final Long packageId;
+        private final String digest;
+        private final Path tempFile;
+        private final OutputStream outputStream;
+        private boolean committed = false;
+
+        private PendingEntry(Long packageId, String digest, Path tempFile) throws IOException {
+            this.packageId = packageId;
+            this.digest = digest;
+            this.tempFile = tempFile;
+            this.outputStream = Files.newOutputStream(tempFile);
+        }
+
+        /**
+         * 缓存文件输出流
+         */
+        public OutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        /**
+         * 提交缓存条目
+         */
+        public void commit() throws IOException {
+            outputStream.close();
+            PackageBuildCache.this.commit(packageId, digest, tempFile);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
+            if (!committed) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+}
@@ -4,25 +4,50 @@ import com.operator.common.dto.library.*;
 import com.operator.common.exception.ResourceNotFoundException;
 import com.operator.core.library.domain.CommonLibrary;
 import com.operator.core.library.domain.PackageCommonLibrary;
+import com.operator.core.library.repository.CommonLibraryFileRepository;
+import com.operator.core.library.repository.LibraryFileSummary;
 import com.operator.core.library.repository.PackageCommonLibraryRepository;
-import com.operator.core.operator.domain.Operator;
 import com.operator.core.operator.repository.OperatorRepository;
 import com.operator.core.pkg.domain.OperatorPackage;
-import com.operator.core.pkg.domain.PackageOperator;
 import com.operator.core.pkg.repository.OperatorPackageRepository;
 import com.operator.core.pkg.repository.PackageOperatorRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.TeeOutputStream;
 
 /**
  * 算子包构建服务
@@ -36,10 +61,58 @@ import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 @RequiredArgsConstructor
 public class PackageBuildService {
 
+    /**
+     * 构建格式版本，修改压缩包结构时递增以使旧缓存失效
+     */
+    private static final String BUILD_FORMAT_VERSION = "1";
+
+    private static final AtomicInteger BUILD_THREAD_COUNTER = new AtomicInteger();
+
     private final OperatorPackageRepository packageRepository;
     private final PackageOperatorRepository packageOperatorRepository;
     private final PackageCommonLibraryRepository packageCommonLibraryRepository;
     private final OperatorRepository operatorRepository;
+    private final CommonLibraryFileRepository libraryFileRepository;
+    private final PackageBuildCache buildCache;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 共享压缩线程池的线程数（所有构建合计），小于等于 0 时使用可用处理器数
+     */
+    @Value("${operator.package-build.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * 条目数达到该阈值时启用并行压缩
+     */
+    @Value("${operator.package-build.parallel-threshold:64}")
+    private int parallelThreshold;
+
+    /**
+     * 所有构建共享的压缩线程池，线程数即全局并行压缩上限，并发下载不会叠加线程
+     */
+    private ExecutorService compressionExecutor;
+
+    /**
+     * 只读短事务，用于加载构建计划和逐条目读取代码，向客户端传输期间不持有数据库连接
+     */
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        compressionExecutor = Executors.newFixedThreadPool(resolveParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "package-build-" + BUILD_THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compressionExecutor.shutdownNow();
+    }
 
     /**
      * 构建并下载算子包
@@ -51,55 +124,150 @@ public class PackageBuildService {
     public PackageDownloadResponse buildPackage(Long packageId) {
         log.info("构建算子包：packageId={}", packageId);
 
-        // 1. 获取算子包信息
+        PackagePlan plan = loadPackagePlan(packageId);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeZip(baos, plan.entries());
+        byte[] zipBytes = baos.toByteArray();
+
+        log.info("算子包构建完成：packageId={}, size={} bytes", packageId, zipBytes.length);
+
+        return PackageDownloadResponse.builder()
+                .packageName(plan.packageName())
+                .zipBytes(zipBytes)
+                .build();
+    }
+
+    /**
+     * 获取算子包名称（用于在流式下载开始前生成响应头）
+     *
+     * @param packageId 算子包ID
+     * @return 算子包名称
+     */
+    @Transactional(readOnly = true)
+    public String getPackageName(Long packageId) {
+        return packageRepository.findById(packageId)
+                .map(OperatorPackage::getName)
+                .orElseThrow(() -> new ResourceNotFoundException("算子包不存在"));
+    }
+
+    /**
+     * 计算算子包构建摘要（构建缓存键，同时作为下载 ETag）
+     * 摘要覆盖算子包版本、打包模板以及按顺序排列的算子、公共库文件及其更新时间，不加载代码内容
+     *
+     * @param packageId 算子包ID
+     * @return 十六进制 SHA-256 摘要
+     */
+    @Transactional(readOnly = true)
+    public String computeBuildDigest(Long packageId) {
         OperatorPackage pkg = packageRepository.findById(packageId)
                 .orElseThrow(() -> new ResourceNotFoundException("算子包不存在"));
 
-        // 2. 获取算子包中的算子
-        List<PackageOperator> packageOperators = packageOperatorRepository
-                .findByOperatorPackageIdOrderByOrderIndexAsc(packageId);
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+
+        updateDigest(digest, BUILD_FORMAT_VERSION, pkg.getId(), pkg.getName(), pkg.getVersion(),
+                pkg.getPackageTemplate(), pkg.getBusinessScenario());
+
+        for (Object[] row : packageOperatorRepository.findBuildFingerprintByPackageId(packageId)) {
+            updateDigest(digest, row);
+        }
+        updateDigest(digest, "libraries");
+        for (Object[] row : packageCommonLibraryRepository.findBuildFingerprintByPackageId(packageId)) {
+            updateDigest(digest, row);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 流式输出算子包，边生成边写入输出流
+     * 命中构建缓存时直接输出缓存的压缩包；未命中时每个 ZIP 条目压缩完成后立即写出，并同时写入缓存
+     * 本方法不在事务中执行：写出前在只读短事务中加载构建计划（条目路径、来源ID和元数据，不含代码），
+     * 写出时再逐条目在各自的短事务中读取代码，内存中只保留当前条目的代码，向客户端传输期间不占用数据库连接
+     *
+     * @param packageId 算子包ID
+     * @param buildDigest 构建摘要（由 {@link #computeBuildDigest(Long)} 计算）
+     * @param outputStream 目标输出流（调用方负责关闭）
+     */
+    public void writePackage(Long packageId, String buildDigest, OutputStream outputStream) throws IOException {
+        if (buildCache.copyTo(packageId, buildDigest, outputStream)) {
+            log.info("算子包构建缓存命中：packageId={}, digest={}", packageId, buildDigest);
+            return;
+        }
 
-        // 3. 获取算子包中的公共库
+        PackagePlan plan = readOnlyTransaction.execute(status -> loadPackagePlan(packageId));
+
+        // 摘要计算后内容可能已被修改，此时只输出不缓存，避免缓存内容与摘要不一致
+        if (!buildCache.isEnabled() || !buildDigest.equals(plan.buildDigest())) {
+            writeZip(outputStream, plan.entries());
+            return;
+        }
+
+        log.info("流式构建算子包：packageId={}, digest={}", packageId, buildDigest);
+
+        try (PackageBuildCache.PendingEntry entry = buildCache.begin(packageId, buildDigest)) {
+            writeZip(new TeeOutputStream(outputStream, entry.getOutputStream()), plan.entries());
+            // 代码在写出过程中逐条目读取，期间内容被修改时不写入缓存
+            if (buildDigest.equals(readOnlyTransaction.execute(status -> computeBuildDigest(packageId)))) {
+                entry.commit();
+            }
+        }
+
+        log.info("算子包流式构建完成：packageId={}", packageId);
+    }
+
+    /**
+     * 加载算子包的构建计划及其构建摘要（需在事务内调用），不加载算子和公共库文件的代码
+     *
+     * @param packageId 算子包ID
+     * @return 构建计划
+     */
+    private PackagePlan loadPackagePlan(Long packageId) {
+        // 1. 获取算子包信息
+        OperatorPackage pkg = packageRepository.findById(packageId)
+                .orElseThrow(() -> new ResourceNotFoundException("算子包不存在"));
+
+        // 2. 获取算子包中的算子元数据（不含代码）
+        List<Object[]> operatorRows = packageOperatorRepository.findBuildEntriesByPackageId(packageId);
+        List<Long> operatorIds = operatorRows.stream()
+                .map(row -> (Long) row[0])
+                .toList();
+        List<OperatorMetadata> operators = operatorRows.stream()
+                .map(row -> OperatorMetadata.builder()
+                        .operatorCode((String) row[1])
+                        .name((String) row[2])
+                        .objectCode((String) row[3])
+                        .dataFormat((String) row[4])
+                        .generator((String) row[5])
+                        .orderNo((Integer) row[6])
+                        .build())
+                .toList();
+
+        // 3. 获取算子包中的公共库及其文件元数据（不含代码）
         List<PackageCommonLibrary> packageCommonLibraries = packageCommonLibraryRepository
                 .findByOperatorPackageIdWithLibrary(packageId);
 
         // 4. 生成元数据文件
-        String metadataContent = generateMetadataFile(pkg, packageOperators);
+        String metadataContent = generateMetadataFile(pkg, operators);
 
-        // 5. 构建压缩包
-        byte[] zipBytes = buildZip(pkg, packageOperators, packageCommonLibraries, metadataContent);
+        // 5. 规划压缩包条目
+        List<ZipEntryPlan> entries = planZipEntries(pkg, operators, operatorIds, packageCommonLibraries, metadataContent);
 
-        log.info("算子包构建完成：packageId={}, size={} bytes", packageId, zipBytes.length);
-
-        return PackageDownloadResponse.builder()
-                .packageName(pkg.getName())
-                .zipBytes(zipBytes)
-                .build();
+        return new PackagePlan(pkg.getName(), computeBuildDigest(packageId), entries);
     }
 
     /**
      * 生成元数据文件内容
      *
      * @param pkg 算子包
-     * @param packageOperators 算子包-算子关联
+     * @param operatorMetadataList 按顺序排列的算子元数据
      * @return YAML 格式的元数据文件内容
      */
-    private String generateMetadataFile(OperatorPackage pkg, List<PackageOperator> packageOperators) {
-        List<OperatorMetadata> operatorMetadataList = new ArrayList<>();
-
-        for (PackageOperator po : packageOperators) {
-            Operator operator = po.getOperator();
-            OperatorMetadata metadata = OperatorMetadata.builder()
-                    .operatorCode(operator.getOperatorCode())
-                    .name(operator.getName())
-                    .objectCode(operator.getObjectCode())
-                    .dataFormat(operator.getDataFormat())
-                    .generator(operator.getGenerator())
-                    .orderNo(po.getOrderIndex())
-                    .build();
-            operatorMetadataList.add(metadata);
-        }
-
+    private String generateMetadataFile(OperatorPackage pkg, List<OperatorMetadata> operatorMetadataList) {
         PackageMetadata packageMetadata = PackageMetadata.builder()
                 .businessName(pkg.getBusinessScenario())
                 .version(pkg.getVersion() != null ? pkg.getVersion() : "1.0.0")
@@ -127,80 +295,145 @@ public class PackageBuildService {
     }
 
     /**
-     * 构建 ZIP 压缩包
+     * 构建 ZIP 压缩包并写入输出流
+     * 条目数达到并行阈值时在共享线程池中并行压缩各条目，再按原顺序合并到压缩包中。
+     * 并行压缩需等全部条目压缩完成后才开始合并写出，因此大包的首字节会晚于串行压缩
      *
-     * @param pkg 算子包
-     * @param packageOperators 算子包-算子关联
-     * @param packageCommonLibraries 算子包-公共库关联
-     * @param metadataContent 元数据文件内容
-     * @return ZIP 压缩包字节数组
+     * @param outputStream 目标输出流（不会被关闭）
+     * @param contents 压缩包条目（由 {@link #loadPackagePlan(Long)} 生成）
+     */
+    private void writeZip(OutputStream outputStream, List<ZipEntryPlan> contents) {
+        try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(CloseShieldOutputStream.wrap(outputStream))) {
+
+            int threads = resolveParallelism();
+            if (threads > 1 && contents.size() >= parallelThreshold) {
+                log.info("并行压缩算子包：entries={}, threads={}", contents.size(), threads);
+                writeEntriesParallel(zos, contents);
+            } else {
+                writeEntries(zos, contents);
+            }
+
+            zos.finish();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("构建 ZIP 压缩包被中断", e);
+            throw new RuntimeException("构建算子包失败", e);
+        } catch (Exception e) {
+            log.error("构建 ZIP 压缩包失败", e);
+            throw new RuntimeException("构建算子包失败", e);
+        }
+    }
+
+    /**
+     * 按压缩包中的顺序规划所有条目：算子代码文件、公共库文件、元数据文件
+     * 只记录条目路径和代码来源ID，代码在写出时由 {@link #readEntry(ZipEntryPlan)} 读取
      */
-    private byte[] buildZip(OperatorPackage pkg,
-                           List<PackageOperator> packageOperators,
-                           List<PackageCommonLibrary> packageCommonLibraries,
-                           String metadataContent) {
+    private List<ZipEntryPlan> planZipEntries(OperatorPackage pkg,
+                                              List<OperatorMetadata> operators,
+                                              List<Long> operatorIds,
+                                              List<PackageCommonLibrary> packageCommonLibraries,
+                                              String metadataContent) {
 
         String packageName = pkg.getName();
         String packageVersion = pkg.getVersion() != null ? pkg.getVersion() : "1.0.0";
         String rootPath = packageName + "/" + packageVersion + "/";
 
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             ZipArchiveOutputStream zos = new ZipArchiveOutputStream(baos)) {
+        List<ZipEntryPlan> contents = new ArrayList<>(operators.size() + 1);
 
-            // 添加算子代码文件
-            for (PackageOperator packageOperator : packageOperators) {
-                Operator operator = packageOperator.getOperator();
-                String fileName = operator.getOperatorCode() + ".groovy";
-                String filePath = rootPath + "operators/groovy/" + fileName;
+        // 添加算子代码文件
+        for (int i = 0; i < operators.size(); i++) {
+            String fileName = operators.get(i).getOperatorCode() + ".groovy";
+            String filePath = rootPath + "operators/groovy/" + fileName;
 
-                ZipArchiveEntry entry = new ZipArchiveEntry(filePath);
-                zos.putArchiveEntry(entry);
-                zos.write(operator.getCode().getBytes(StandardCharsets.UTF_8));
-                zos.closeArchiveEntry();
-
-                log.info("添加算子文件到 ZIP：{}", filePath);
-            }
-
-            // 添加公共库文件
-            for (PackageCommonLibrary pcl : packageCommonLibraries) {
-                CommonLibrary library = pcl.getLibrary();
-                String libraryType = library.getLibraryType().name().toLowerCase();
+            contents.add(new ZipEntryPlan(filePath, EntrySource.OPERATOR, operatorIds.get(i), null));
+            log.info("添加算子文件到 ZIP：{}", filePath);
+        }
 
-                for (var file : library.getFiles()) {
-                    String filePath;
-                    String fileContent;
+        // 添加公共库文件（只查询文件元数据，按公共库内顺序排列）
+        List<Long> libraryIds = packageCommonLibraries.stream()
+                .map(pcl -> pcl.getLibrary().getId())
+                .toList();
+        Map<Long, List<LibraryFileSummary>> filesByLibrary = libraryIds.isEmpty() ? Map.of()
+                : libraryFileRepository.findSummariesByLibraryIds(libraryIds).stream()
+                        .collect(Collectors.groupingBy(LibraryFileSummary::libraryId));
 
-                    // Legacy 模板的路径规则
-                    filePath = rootPath + getLegacyLibraryPath(libraryType, library.getName(), file.getFileName());
-                    fileContent = file.getCode();
+        for (PackageCommonLibrary pcl : packageCommonLibraries) {
+            CommonLibrary library = pcl.getLibrary();
+            String libraryType = library.getLibraryType().name().toLowerCase();
 
-                    ZipArchiveEntry entry = new ZipArchiveEntry(filePath);
-                    zos.putArchiveEntry(entry);
-                    zos.write(fileContent.getBytes(StandardCharsets.UTF_8));
-                    zos.closeArchiveEntry();
+            for (LibraryFileSummary file : filesByLibrary.getOrDefault(library.getId(), List.of())) {
+                // Legacy 模板的路径规则
+                String filePath = rootPath + getLegacyLibraryPath(libraryType, library.getName(), file.fileName());
 
-                    log.info("添加公共库文件到 ZIP：{}", filePath);
-                }
+                contents.add(new ZipEntryPlan(filePath, EntrySource.LIBRARY_FILE, file.id(), null));
+                log.info("添加公共库文件到 ZIP：{}", filePath);
             }
+        }
 
-            // 添加元数据文件
-            String metadataPath = rootPath + "operators/metainfo_operators.yml";
-            ZipArchiveEntry metadataEntry = new ZipArchiveEntry(metadataPath);
-            zos.putArchiveEntry(metadataEntry);
-            zos.write(metadataContent.getBytes(StandardCharsets.UTF_8));
-            zos.closeArchiveEntry();
+        // 添加元数据文件
+        String metadataPath = rootPath + "operators/metainfo_operators.yml";
+        contents.add(new ZipEntryPlan(metadataPath, EntrySource.INLINE, null, metadataContent));
+        log.info("添加元数据文件到 ZIP：{}", metadataPath);
 
-            log.info("添加元数据文件到 ZIP：{}", metadataPath);
+        return contents;
+    }
 
-            zos.finish();
-            return baos.toByteArray();
+    /**
+     * 读取条目内容：算子和公共库文件的代码在各自的只读短事务中按ID读取，只在写出该条目期间驻留内存
+     */
+    private byte[] readEntry(ZipEntryPlan plan) {
+        String content = switch (plan.source()) {
+            case OPERATOR -> readOnlyTransaction.execute(status -> operatorRepository.findCodeById(plan.sourceId()));
+            case LIBRARY_FILE -> readOnlyTransaction.execute(status -> libraryFileRepository.findCodeById(plan.sourceId()));
+            case INLINE -> plan.content();
+        };
+        return Objects.toString(content, "").getBytes(StandardCharsets.UTF_8);
+    }
 
-        } catch (Exception e) {
-            log.error("构建 ZIP 压缩包失败", e);
-            throw new RuntimeException("构建算子包失败", e);
+    /**
+     * 在当前线程中依次读取、压缩并写出条目
+     */
+    private void writeEntries(ZipArchiveOutputStream zos, List<ZipEntryPlan> contents) throws IOException {
+        for (ZipEntryPlan content : contents) {
+            ZipArchiveEntry entry = new ZipArchiveEntry(content.path());
+            zos.putArchiveEntry(entry);
+            zos.write(readEntry(content));
+            zos.closeArchiveEntry();
         }
+    }
 
+    /**
+     * 在共享线程池中并行读取、压缩条目，再按提交顺序合并写出
+     * {@link ParallelScatterZipCreator} 会在合并完成后关闭传入的线程池，因此传入不会关闭共享线程池的视图
+     */
+    private void writeEntriesParallel(ZipArchiveOutputStream zos, List<ZipEntryPlan> contents)
+            throws IOException, InterruptedException, ExecutionException {
+
+        ParallelScatterZipCreator creator = new ParallelScatterZipCreator(new SharedExecutorView(compressionExecutor));
+        for (ZipEntryPlan content : contents) {
+            ZipArchiveEntry entry = new ZipArchiveEntry(content.path());
+            entry.setMethod(ZipEntry.DEFLATED);
+            creator.addArchiveEntry(entry, () -> new ByteArrayInputStream(readEntry(content)));
+        }
+        creator.writeTo(zos);
+    }
 
+    /**
+     * 解析压缩线程数，未配置时使用可用处理器数
+     */
+    private int resolveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 将字段依次写入摘要，字段之间以 0 字节分隔
+     */
+    private void updateDigest(MessageDigest digest, Object... values) {
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
     }
 
     /**
@@ -220,4 +453,82 @@ public class PackageBuildService {
             default -> "lib/" + fileName;
         };
     }
+
+    /**
+     * 单次构建使用的共享线程池视图：任务提交到共享线程池，关闭只对本视图生效
+     * {@link ParallelScatterZipCreator#writeTo} 在等待全部任务完成后才关闭线程池，因此关闭后视为已终止
+     */
+    private static final class SharedExecutorView extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private volatile boolean shutdown;
+
+        SharedExecutorView(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (shutdown) {
+                throw new RejectedExecutionException("构建已结束");
+            }
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return shutdown;
+        }
+    }
+
+    /**
+     * 算子包构建计划，只包含条目路径和代码来源，不包含代码
+     *
+     * @param packageName 算子包名称
+     * @param buildDigest 加载时的构建摘要
+     * @param entries 压缩包条目
+     */
+    private record PackagePlan(String packageName, String buildDigest, List<ZipEntryPlan> entries) {
+    }
+
+    /**
+     * 压缩包条目内容来源
+     */
+    private enum EntrySource {
+        OPERATOR,
+        LIBRARY_FILE,
+        INLINE
+    }
+
+    /**
+     * 压缩包条目计划
+     *
+     * @param path 条目路径
+     * @param source 内容来源
+     * @param sourceId 算子ID或公共库文件ID（INLINE 时为 null）
+     * @param content 内联内容（仅 INLINE，如元数据文件）
+     */
+    private record ZipEntryPlan(String path, EntrySource source, Long sourceId, String content) {
+    }
 }
@@ -0,0 +1,354 @@
+package com.operator.service.library;
+
+import com.operator.common.dto.pkg.PackageImportJobResponse;
+import com.operator.common.dto.pkg.PackageImportResponse;
+import com.operator.common.enums.ImportPhase;
+import com.operator.common.enums.TaskStatus;
+import com.operator.common.enums.TaskType;
+import com.operator.common.exception.BadRequestException;
+import com.operator.common.exception.ResourceNotFoundException;
+import com.operator.common.exception.UnauthorizedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 算子包异步导入任务服务
+ * 在有界线程池中执行导入，限制同时运行的导入数量以保护数据库连接池，
+ * 并通过 WebSocket（STOMP）向订阅者推送各阶段进度
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PackageImportJobService {
+
+    /**
+     * 进度推送主题前缀，订阅 {@code /topic/package-import-jobs/{jobId}} 接收任务进度
+     */
+    public static final String PROGRESS_TOPIC_PREFIX = "/topic/package-import-jobs/";
+
+    private final PackageImportService importService;
+    private final ObjectProvider<SimpMessageSendingOperations> messagingTemplateProvider;
+
+    @Value("${operator.package-import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${operator.package-import.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${operator.package-import.job-retention:PT1H}")
+    private Duration jobRetention;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "package-import-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        log.info("算子包导入任务线程池初始化：maxConcurrentJobs={}, queueCapacity={}", maxConcurrentJobs, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 提交异步导入任务
+     * 上传内容在返回前写入临时文件，导入在后台线程中执行
+     *
+     * @param inputStream ZIP 压缩包输入流（调用方负责关闭）
+     * @param originalFileName 原始文件名
+     * @param username 导入用户
+     * @param chunked 是否分块导入（按批提交事务，失败时补偿）
+     * @return 任务信息
+     */
+    public PackageImportJobResponse submit(InputStream inputStream, String originalFileName, String username,
+                                           boolean chunked) {
+        Path uploadFile;
+        try {
+            uploadFile = Files.createTempFile("import_job", ".zip");
+            Files.copy(inputStream, uploadFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("保存导入文件失败", e);
+            throw new BadRequestException("保存导入文件失败：" + e.getMessage());
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), originalFileName, username, uploadFile, chunked);
+        job.phase = ImportPhase.UPLOADED;
+        jobs.put(job.jobId, job);
+
+        try {
+            job.future = executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            deleteUploadFile(job);
+            throw new BadRequestException("导入任务过多，请稍后重试");
+        }
+
+        log.info("提交算子包导入任务：jobId={}, fileName={}, user={}", job.jobId, originalFileName, username);
+        publish(job);
+        return toResponse(job);
+    }
+
+    /**
+     * 查询导入任务
+     *
+     * @param jobId 任务 ID
+     * @param username 当前用户
+     * @param admin 当前用户是否为管理员
+     * @return 任务信息
+     */
+    public PackageImportJobResponse getJob(String jobId, String username, boolean admin) {
+        return toResponse(findAccessibleJob(jobId, username, admin));
+    }
+
+    /**
+     * 查询当前用户的导入任务（管理员返回所有任务）
+     *
+     * @param username 当前用户
+     * @param admin 当前用户是否为管理员
+     * @return 任务列表，按提交时间倒序
+     */
+    public List<PackageImportJobResponse> listJobs(String username, boolean admin) {
+        return jobs.values().stream()
+                .filter(job -> admin || job.username.equals(username))
+                .sorted(Comparator.comparing((ImportJob job) -> job.createdAt).reversed())
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * 取消导入任务
+     * 排队中的任务直接取消；运行中的任务在下一个阶段完成时中止并回滚（分块导入时执行补偿）
+     *
+     * @param jobId 任务 ID
+     * @param username 当前用户
+     * @param admin 当前用户是否为管理员
+     * @return 任务信息
+     */
+    public PackageImportJobResponse cancel(String jobId, String username, boolean admin) {
+        ImportJob job = findAccessibleJob(jobId, username, admin);
+
+        synchronized (job) {
+            if (isFinished(job.status)) {
+                throw new BadRequestException("导入任务已结束，无法取消");
+            }
+
+            job.cancelRequested = true;
+            if (job.status == TaskStatus.QUEUED && job.future != null && job.future.cancel(false)) {
+                finish(job, TaskStatus.CANCELLED, null, "导入任务已取消");
+                deleteUploadFile(job);
+            }
+        }
+
+        log.info("取消算子包导入任务：jobId={}, user={}", jobId, username);
+        return toResponse(job);
+    }
+
+    /**
+     * 定期清理已结束的过期任务
+     */
+    @Scheduled(fixedDelayString = "${operator.package-import.job-cleanup-interval:600000}")
+    public void cleanupFinishedJobs() {
+        LocalDateTime expireBefore = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> isFinished(job.status)
+                && job.finishedAt != null && job.finishedAt.isBefore(expireBefore));
+    }
+
+    /**
+     * 执行导入任务
+     */
+    private void run(ImportJob job) {
+        boolean cancelled;
+        synchronized (job) {
+            cancelled = job.cancelRequested;
+            if (!cancelled) {
+                job.status = TaskStatus.RUNNING;
+                job.startedAt = LocalDateTime.now();
+            }
+        }
+
+        if (cancelled) {
+            finish(job, TaskStatus.CANCELLED, null, "导入任务已取消");
+            deleteUploadFile(job);
+            return;
+        }
+        publish(job);
+
+        try {
+            PackageImportProgressListener listener = phase -> onPhase(job, phase);
+            PackageImportResponse result = job.chunked
+                    ? importService.importPackageInChunks(job.uploadFile, job.fileName, job.username, listener)
+                    : importService.importPackage(job.uploadFile, job.fileName, job.username, listener);
+            finish(job, TaskStatus.SUCCESS, result, null);
+            log.info("算子包导入任务完成：jobId={}, packageId={}", job.jobId, result.getId());
+        } catch (CancellationException e) {
+            finish(job, TaskStatus.CANCELLED, null, "导入任务已取消");
+            log.info("算子包导入任务已取消：jobId={}", job.jobId);
+        } catch (Exception e) {
+            finish(job, TaskStatus.FAILED, null, e.getMessage());
+            log.error("算子包导入任务失败：jobId={}", job.jobId, e);
+        } finally {
+            deleteUploadFile(job);
+        }
+    }
+
+    /**
+     * 阶段完成回调：检查取消请求并推送进度
+     */
+    private void onPhase(ImportJob job, ImportPhase phase) {
+        if (job.cancelRequested) {
+            throw new CancellationException("导入任务已取消");
+        }
+        job.phase = phase;
+        log.debug("算子包导入任务进度：jobId={}, phase={}", job.jobId, phase);
+        publish(job);
+    }
+
+    private void finish(ImportJob job, TaskStatus status, PackageImportResponse result, String error) {
+        synchronized (job) {
+            job.status = status;
+            job.result = result;
+            job.error = error;
+            job.finishedAt = LocalDateTime.now();
+        }
+        publish(job);
+    }
+
+    /**
+     * 推送任务状态到订阅者
+     */
+    private void publish(ImportJob job) {
+        SimpMessageSendingOperations messagingTemplate = messagingTemplateProvider.getIfAvailable();
+        if (messagingTemplate == null) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSend(PROGRESS_TOPIC_PREFIX + job.jobId, toResponse(job));
+        } catch (Exception e) {
+            log.warn("推送导入任务进度失败：jobId={}", job.jobId, e);
+        }
+    }
+
+    /**
+     * 判断用户能否访问导入任务（用于校验进度主题订阅）
+     *
+     * @param jobId 任务 ID
+     * @param username 当前用户
+     * @param admin 当前用户是否为管理员
+     * @return 任务存在且属于该用户或用户为管理员时返回 true
+     */
+    public boolean canAccessJob(String jobId, String username, boolean admin) {
+        ImportJob job = jobs.get(jobId);
+        return job != null && (admin || job.username.equals(username));
+    }
+
+    private ImportJob findAccessibleJob(String jobId, String username, boolean admin) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("导入任务不存在");
+        }
+        if (!admin && !job.username.equals(username)) {
+            throw new UnauthorizedException("无权访问该导入任务");
+        }
+        return job;
+    }
+
+    private boolean isFinished(TaskStatus status) {
+        return status == TaskStatus.SUCCESS || status == TaskStatus.FAILED || status == TaskStatus.CANCELLED;
+    }
+
+    private void deleteUploadFile(ImportJob job) {
+        try {
+            Files.deleteIfExists(job.uploadFile);
+        } catch (IOException e) {
+            log.warn("删除导入临时文件失败：jobId={}", job.jobId, e);
+        }
+    }
+
+    private PackageImportJobResponse toResponse(ImportJob job) {
+        synchronized (job) {
+            return PackageImportJobResponse.builder()
+                    .jobId(job.jobId)
+                    .type(TaskType.PACKAGE_IMPORT)
+                    .status(job.status)
+                    .phase(job.phase)
+                    .fileName(job.fileName)
+                    .username(job.username)
+                    .result(job.result)
+                    .error(job.error)
+                    .createdAt(job.createdAt)
+                    .startedAt(job.startedAt)
+                    .finishedAt(job.finishedAt)
+                    .build();
+        }
+    }
+
+    // ========== 内部类 ==========
+
+    /**
+     * 导入任务
+     */
+    private static class ImportJob {
+        final String jobId;
+        final String fileName;
+        final String username;
+        final Path uploadFile;
+        final boolean chunked;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        volatile TaskStatus status = TaskStatus.QUEUED;
+        volatile ImportPhase phase;
+        volatile boolean cancelRequested = false;
+        volatile Future<?> future;
+        PackageImportResponse result;
+        String error;
+        LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+
+        ImportJob(String jobId, String fileName, String username, Path uploadFile, boolean chunked) {
+            this.jobId = jobId;
+            this.fileName = fileName;
+            this.username = username;
+            this.uploadFile = uploadFile;
+            this.chunked = chunked;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.operator.service.library;
+
+import com.operator.common.enums.ImportPhase;
+
+/**
+ * 算子包导入进度监听器
+ * 每个导入阶段完成后回调；抛出运行时异常（如 {@link java.util.concurrent.CancellationException}）将中止导入并回滚事务
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface PackageImportProgressListener {
+
+    /**
+     * 不处理进度的监听器
+     */
+    PackageImportProgressListener NONE = phase -> {
+    };
+
+    /**
+     * 导入阶段完成
+     *
+     * @param phase 已完成的阶段
+     */
+    void onPhase(ImportPhase phase);
+}
@@ -2,9 +2,11 @@ package com.operator.service.library;
 
 import com.operator.common.dto.pkg.PackageImportMetadata;
 import com.operator.common.dto.pkg.PackageImportResponse;
+import com.operator.common.enums.ImportPhase;
 import com.operator.common.enums.LanguageType;
 import com.operator.common.enums.LibraryType;
 import com.operator.common.exception.BadRequestException;
+import com.operator.common.utils.LikePatterns;
 import com.operator.core.library.domain.CommonLibrary;
 import com.operator.core.library.domain.CommonLibraryFile;
 import com.operator.core.library.domain.OperatorCommonLibrary;
@@ -19,23 +21,46 @@ import com.operator.core.pkg.domain.OperatorPackage;
 import com.operator.core.pkg.domain.PackageOperator;
 import com.operator.core.pkg.repository.OperatorPackageRepository;
 import com.operator.core.pkg.repository.PackageOperatorRepository;
+import com.operator.service.operator.OperatorFacetCache;
+import com.operator.service.search.CodeSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.yaml.snakeyaml.Yaml;
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
@@ -51,6 +76,18 @@ import org.apache.commons.compress.archivers.zip.ZipFile;
 @RequiredArgsConstructor
 public class PackageImportService {
 
+    private static final String METADATA_FILE_NAME = "metainfo_operators.yml";
+
+    /**
+     * 单条 IN 查询的最大参数个数
+     */
+    private static final int IN_QUERY_BATCH_SIZE = 1000;
+
+    /**
+     * 算子代码文件路径：{root}/operators/groovy/{operatorCode}.groovy
+     */
+    private static final Pattern OPERATOR_ENTRY_PATTERN = Pattern.compile("/operators/groovy/([^/]+)\\.groovy$");
+
     private final OperatorPackageRepository packageRepository;
     private final PackageOperatorRepository packageOperatorRepository;
     private final PackageCommonLibraryRepository packageCommonLibraryRepository;
@@ -58,104 +95,387 @@ public class PackageImportService {
     private final OperatorRepository operatorRepository;
     private final CommonLibraryRepository commonLibraryRepository;
     private final CommonLibraryFileRepository commonLibraryFileRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final CodeSearchIndex codeSearchIndex;
+    private final OperatorFacetCache operatorFacetCache;
+
+    /**
+     * 分块导入时每个事务处理的算子数量
+     */
+    @Value("${operator.package-import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * 进行中的导入已预留（尚未提交）的算子包名称
+     */
+    private final Set<String> reservedPackageNames = ConcurrentHashMap.newKeySet();
 
     /**
      * 导入算子包
+     * 上传内容只读取一次并写入临时文件，各条目内容在使用时才从压缩包中读取，
+     * 内存占用取决于单个条目大小而不是整个压缩包大小
      *
-     * @param zipBytes ZIP 压缩包字节数组
+     * @param inputStream ZIP 压缩包输入流（调用方负责关闭）
      * @param originalFileName 原始文件名
      * @param username 导入用户
      * @return 导入结果
      */
     @Transactional
-    public PackageImportResponse importPackage(byte[] zipBytes, String originalFileName, String username) {
+    public PackageImportResponse importPackage(InputStream inputStream, String originalFileName, String username) {
         log.info("开始导入算子包：fileName={}, user={}", originalFileName, username);
 
-        // 创建临时文件
-        File tempFile = null;
+        // 将上传内容写入临时文件
+        Path tempFile = null;
         try {
-            tempFile = File.createTempFile("import_package", ".zip");
-            try (FileOutputStream fos = new FileOutputStream(tempFile)) {
-                fos.write(zipBytes);
-            }
-
-            try (ZipFile zipFile = new ZipFile(tempFile)) {
-                // 1. 解析元数据文件
-                PackageImportMetadata metadata = parseMetadata(zipFile);
-
-                // 2. 提取包名和版本号（从 ZIP 根目录结构）
-                String packageName = extractPackageName(zipFile);
-                String packageVersion = metadata.getVersion() != null ? metadata.getVersion() : "1.0.0";
-
-                // 3. 处理算子包名称冲突
-                String finalPackageName = handlePackageNameConflict(packageName);
-
-                // 4. 提取公共库文件
-                Map<String, LibraryContent> libraryContents = extractLibraryFiles(zipFile);
-
-                // 5. 提取算子代码文件
-                Map<String, String> operatorCodes = extractOperatorCodes(zipFile);
+            tempFile = Files.createTempFile("import_package", ".zip");
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
 
-                // 6. 验证数据完整性
-                validateDataIntegrity(metadata, libraryContents, operatorCodes);
-
-                // 7. 处理公共库（查询/更新/创建）
-                ImportStatistics stats = new ImportStatistics();
-                Map<String, CommonLibrary> libraryMap = processLibraries(libraryContents, username, stats);
-
-                // 8. 处理算子（查询/更新/创建）
-                Map<String, Operator> operatorMap = processOperators(metadata, operatorCodes, libraryMap, username, stats);
-
-                // 9. 创建算子包
-                OperatorPackage pkg = createPackage(finalPackageName, metadata.getBusinessName(), packageVersion, username, stats);
+            return doImport(tempFile, username, PackageImportProgressListener.NONE);
+        } catch (IOException e) {
+            log.error("解析 ZIP 文件失败", e);
+            throw new BadRequestException("解析 ZIP 文件失败：" + e.getMessage());
+        } finally {
+            // 删除临时文件
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("删除临时文件失败", e);
+                }
+            }
+        }
+    }
 
-                // 10. 建立算子包-算子关联
-                createPackageOperators(pkg, metadata.getOperators().getInstances(), operatorMap, stats);
+    /**
+     * 从本地压缩包文件导入算子包（用于异步导入任务）
+     *
+     * @param zipPath ZIP 压缩包文件路径（调用方负责删除）
+     * @param originalFileName 原始文件名
+     * @param username 导入用户
+     * @param listener 导入进度监听器
+     * @return 导入结果
+     */
+    @Transactional
+    public PackageImportResponse importPackage(Path zipPath, String originalFileName, String username,
+                                               PackageImportProgressListener listener) {
+        log.info("开始导入算子包：fileName={}, user={}", originalFileName, username);
 
-                // 11. 自动同步公共库到算子包
-                syncLibrariesToPackage(pkg, libraryMap, stats);
+        try {
+            return doImport(zipPath, username, listener);
+        } catch (IOException e) {
+            log.error("解析 ZIP 文件失败", e);
+            throw new BadRequestException("解析 ZIP 文件失败：" + e.getMessage());
+        }
+    }
 
-                log.info("算子包导入成功：packageName={}, operatorsUpdated={}, operatorsCreated={}, librariesUpdated={}, librariesCreated={}",
-                        finalPackageName, stats.operatorsUpdated, stats.operatorsCreated,
-                        stats.librariesUpdated, stats.librariesCreated);
+    /**
+     * 分块导入算子包
+     * 上传内容写入临时文件后按 {@link #importPackageInChunks(Path, String, String, PackageImportProgressListener)} 导入
+     *
+     * @param inputStream ZIP 压缩包输入流（调用方负责关闭）
+     * @param originalFileName 原始文件名
+     * @param username 导入用户
+     * @return 导入结果
+     */
+    public PackageImportResponse importPackageInChunks(InputStream inputStream, String originalFileName, String username) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("import_package", ".zip");
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
 
-                return PackageImportResponse.builder()
-                        .id(pkg.getId())
-                        .name(finalPackageName)
-                        .operatorsUpdated(stats.operatorsUpdated)
-                        .operatorsCreated(stats.operatorsCreated)
-                        .librariesUpdated(stats.librariesUpdated)
-                        .librariesCreated(stats.librariesCreated)
-                        .build();
+            return importPackageInChunks(tempFile, originalFileName, username, PackageImportProgressListener.NONE);
+        } catch (IOException e) {
+            log.error("保存导入文件失败", e);
+            throw new BadRequestException("保存导入文件失败：" + e.getMessage());
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("删除临时文件失败", e);
+                }
+            }
+        }
+    }
 
+    /**
+     * 分块导入算子包（用于大型压缩包）
+     * 公共库、每批算子、算子包、每批关联分别在独立的短事务中提交，每个事务提交后持久化上下文随之释放，
+     * 避免单个大事务长时间持有行锁、占用连接并使一级缓存随算子数量无限增长。
+     * 中途失败或取消时执行补偿：删除本次创建的算子包、关联、算子和公共库，并按撤销日志恢复被更新的算子和公共库
+     *
+     * @param zipPath ZIP 压缩包文件路径（调用方负责删除）
+     * @param originalFileName 原始文件名
+     * @param username 导入用户
+     * @param listener 导入进度监听器
+     * @return 导入结果
+     */
+    public PackageImportResponse importPackageInChunks(Path zipPath, String originalFileName, String username,
+                                                       PackageImportProgressListener listener) {
+        log.info("开始分块导入算子包：fileName={}, user={}, chunkSize={}", originalFileName, username, chunkSize);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        String finalPackageName = null;
+        ImportUndoLog undo = new ImportUndoLog();
+        try (ZipFile zipFile = new ZipFile(zipPath.toFile())) {
+            // 1. 解析并校验压缩包（不占用事务）
+            ArchiveIndex index = indexEntries(zipFile);
+            PackageImportMetadata metadata = parseMetadata(zipFile, index.metadataEntry);
+            listener.onPhase(ImportPhase.METADATA_PARSED);
+
+            String packageName = index.packageName != null ? index.packageName : "imported_package";
+            String packageVersion = metadata.getVersion() != null ? metadata.getVersion() : "1.0.0";
+            List<PackageImportMetadata.OperatorMetadata> instances = metadata.getOperators().getInstances();
+            validateDataIntegrity(metadata, index.libraryContents, index.operatorEntries);
+
+            finalPackageName = handlePackageNameConflict(packageName);
+            String name = finalPackageName;
+            ImportStatistics stats = new ImportStatistics();
+
+            // 2. 处理公共库（单个事务，公共库数量通常很少）
+            Map<String, CommonLibrary> libraryMap = inTransaction(transactionTemplate,
+                    () -> processLibraries(zipFile, index.libraryContents, username, stats, undo));
+            listener.onPhase(ImportPhase.LIBRARIES_PROCESSED);
+
+            // 3. 分批处理算子，只保留算子 ID
+            Map<String, Long> operatorIds = new HashMap<>();
+            for (List<PackageImportMetadata.OperatorMetadata> chunk : partition(instances, chunkSize)) {
+                Map<String, Operator> chunkOperators = inTransaction(transactionTemplate,
+                        () -> processOperators(zipFile, chunk, index.operatorEntries, username, stats, undo));
+                chunkOperators.forEach((code, operator) -> operatorIds.put(code, operator.getId()));
+                log.debug("分块导入算子批次已提交：count={}, total={}", chunk.size(), operatorIds.size());
+            }
+            listener.onPhase(ImportPhase.OPERATORS_PROCESSED);
+
+            // 4. 创建算子包及包级别公共库关联（使用排序最靠前的算子作为来源）
+            String firstOperatorCode = instances.stream()
+                    .min(Comparator.comparingInt(om -> om.getOrder_no() != null ? om.getOrder_no() : 1))
+                    .map(PackageImportMetadata.OperatorMetadata::getOperator_code)
+                    .orElse(null);
+            Long packageId = inTransaction(transactionTemplate, () -> {
+                OperatorPackage pkg = createPackage(name, metadata.getBusinessName(), packageVersion, username, stats);
+                undo.packageId = pkg.getId();
+                if (!libraryMap.isEmpty() && firstOperatorCode != null) {
+                    createPackageLibraries(pkg, operatorRepository.getReferenceById(operatorIds.get(firstOperatorCode)),
+                            libraryMap);
+                }
+                return pkg.getId();
+            });
+
+            // 5. 分批建立算子包-算子关联及算子级别公共库关联
+            for (List<PackageImportMetadata.OperatorMetadata> chunk : partition(instances, chunkSize)) {
+                inTransaction(transactionTemplate, () -> {
+                    Map<String, Operator> chunkOperators = new LinkedHashMap<>();
+                    for (PackageImportMetadata.OperatorMetadata om : chunk) {
+                        chunkOperators.computeIfAbsent(om.getOperator_code(),
+                                code -> operatorRepository.getReferenceById(operatorIds.get(code)));
+                    }
+                    createPackageOperators(packageRepository.getReferenceById(packageId), chunk, chunkOperators, stats);
+                    if (!libraryMap.isEmpty()) {
+                        for (OperatorCommonLibrary link : createOperatorLibraryLinks(chunkOperators.values(), libraryMap)) {
+                            undo.createdLinkIds.add(link.getId());
+                        }
+                    }
+                    return null;
+                });
             }
+            listener.onPhase(ImportPhase.LINKS_CREATED);
+
+            log.info("算子包分块导入成功：packageName={}, operatorsUpdated={}, operatorsCreated={}, librariesUpdated={}, librariesCreated={}",
+                    finalPackageName, stats.operatorsUpdated, stats.operatorsCreated,
+                    stats.librariesUpdated, stats.librariesCreated);
+
+            return PackageImportResponse.builder()
+                    .id(packageId)
+                    .name(finalPackageName)
+                    .operatorsUpdated(stats.operatorsUpdated)
+                    .operatorsCreated(stats.operatorsCreated)
+                    .librariesUpdated(stats.librariesUpdated)
+                    .librariesCreated(stats.librariesCreated)
+                    .build();
         } catch (IOException e) {
             log.error("解析 ZIP 文件失败", e);
+            compensate(transactionTemplate, undo);
             throw new BadRequestException("解析 ZIP 文件失败：" + e.getMessage());
+        } catch (RuntimeException e) {
+            compensate(transactionTemplate, undo);
+            throw e;
         } finally {
-            // 删除临时文件
-            if (tempFile != null && tempFile.exists()) {
+            if (finalPackageName != null) {
+                reservedPackageNames.remove(finalPackageName);
+            }
+            undo.close();
+        }
+    }
+
+    /**
+     * 在独立事务中执行导入步骤，事务提交后持久化上下文随之释放
+     */
+    private <T> T inTransaction(TransactionTemplate transactionTemplate, ImportStep<T> step) throws IOException {
+        try {
+            return transactionTemplate.execute(status -> {
                 try {
-                    Files.delete(tempFile.toPath());
+                    return step.run();
                 } catch (IOException e) {
-                    log.warn("删除临时文件失败", e);
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 补偿已提交的分块导入
+     * 按依赖关系逆序撤销：算子包（级联删除包内关联）、算子级别公共库关联、算子、公共库
+     */
+    private void compensate(TransactionTemplate transactionTemplate, ImportUndoLog undo) {
+        if (undo.isEmpty()) {
+            return;
+        }
+        log.warn("分块导入失败，开始补偿：packageId={}, operatorsCreated={}, librariesCreated={}, links={}",
+                undo.packageId, undo.createdOperatorIds.size(), undo.createdLibraryIds.size(), undo.createdLinkIds.size());
+
+        try {
+            // 1. 删除算子包及算子级别公共库关联
+            transactionTemplate.executeWithoutResult(status -> {
+                if (undo.packageId != null) {
+                    packageRepository.findById(undo.packageId).ifPresent(packageRepository::delete);
+                }
+                for (List<Long> chunk : partition(undo.createdLinkIds)) {
+                    operatorCommonLibraryRepository.deleteAllByIdInBatch(chunk);
                 }
+            });
+
+            // 2. 恢复被更新的算子
+            undo.forEachOperatorSnapshotChunk(chunkSize, snapshots -> transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, Operator> operators = new HashMap<>();
+                for (Operator operator : operatorRepository.findAllById(snapshots.stream().map(OperatorSnapshot::id).toList())) {
+                    operators.put(operator.getId(), operator);
+                }
+                for (OperatorSnapshot snapshot : snapshots) {
+                    Operator operator = operators.get(snapshot.id());
+                    if (operator != null) {
+                        operator.setName(snapshot.name());
+                        operator.setObjectCode(snapshot.objectCode());
+                        operator.setDataFormat(snapshot.dataFormat());
+                        operator.setGenerator(snapshot.generator());
+                        operator.setCode(snapshot.code());
+                        codeSearchIndex.indexOperator(snapshot.id(), snapshot.code());
+                    }
+                }
+            }));
+
+            // 3. 删除新建的算子
+            for (List<Long> chunk : partition(undo.createdOperatorIds, chunkSize)) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    operatorRepository.deleteAllByIdInBatch(chunk);
+                    chunk.forEach(codeSearchIndex::removeOperator);
+                });
             }
+
+            // 4. 恢复被更新的公共库（每次只读取一个公共库的快照），删除新建的公共库（级联删除文件）
+            undo.forEachLibrarySnapshot(snapshot -> transactionTemplate.executeWithoutResult(status ->
+                    commonLibraryRepository.findById(snapshot.id()).ifPresent(library -> {
+                        library.setVersion(snapshot.version());
+                        commonLibraryFileRepository.deleteByLibraryId(library.getId());
+                        codeSearchIndex.removeLibrary(library.getId());
+                        indexLibraryFiles(commonLibraryFileRepository.saveAll(snapshot.files().stream()
+                                .map(file -> CommonLibraryFile.builder()
+                                        .library(library)
+                                        .fileName(file.fileName())
+                                        .filePath(file.filePath())
+                                        .code(file.code())
+                                        .orderIndex(file.orderIndex())
+                                        .build())
+                                .toList()));
+                    })));
+            transactionTemplate.executeWithoutResult(status -> {
+                commonLibraryRepository.deleteAllById(undo.createdLibraryIds);
+                undo.createdLibraryIds.forEach(codeSearchIndex::removeLibrary);
+            });
+
+            operatorFacetCache.invalidate();
+            log.info("分块导入补偿完成：packageId={}", undo.packageId);
+        } catch (Exception e) {
+            log.error("分块导入补偿失败，需要人工清理：packageId={}, createdOperatorIds={}, createdLibraryIds={}",
+                    undo.packageId, undo.createdOperatorIds, undo.createdLibraryIds, e);
+        }
+    }
+
+    /**
+     * 执行导入
+     */
+    private PackageImportResponse doImport(Path zipPath, String username,
+                                           PackageImportProgressListener listener) throws IOException {
+        try (ZipFile zipFile = new ZipFile(zipPath.toFile())) {
+            // 1. 遍历一次压缩包，对条目分类（元数据、算子代码、公共库文件）
+            ArchiveIndex index = indexEntries(zipFile);
+
+            // 2. 解析元数据文件
+            PackageImportMetadata metadata = parseMetadata(zipFile, index.metadataEntry);
+            listener.onPhase(ImportPhase.METADATA_PARSED);
+
+            // 3. 提取包名和版本号（从 ZIP 根目录结构）
+            String packageName = index.packageName != null ? index.packageName : "imported_package";
+            String packageVersion = metadata.getVersion() != null ? metadata.getVersion() : "1.0.0";
+
+            // 4. 处理算子包名称冲突
+            String finalPackageName = handlePackageNameConflict(packageName);
+            releasePackageNameOnCompletion(finalPackageName);
+
+            // 5. 公共库文件与算子代码文件
+            Map<String, LibraryContent> libraryContents = index.libraryContents;
+            Map<String, ZipArchiveEntry> operatorEntries = index.operatorEntries;
+
+            // 6. 验证数据完整性
+            validateDataIntegrity(metadata, libraryContents, operatorEntries);
+
+            // 7. 处理公共库（查询/更新/创建）
+            ImportStatistics stats = new ImportStatistics();
+            Map<String, CommonLibrary> libraryMap = processLibraries(zipFile, libraryContents, username, stats, null);
+            listener.onPhase(ImportPhase.LIBRARIES_PROCESSED);
+
+            // 8. 处理算子（查询/更新/创建）
+            Map<String, Operator> operatorMap = processOperators(zipFile, metadata.getOperators().getInstances(),
+                    operatorEntries, username, stats, null);
+            listener.onPhase(ImportPhase.OPERATORS_PROCESSED);
+
+            // 9. 创建算子包
+            OperatorPackage pkg = createPackage(finalPackageName, metadata.getBusinessName(), packageVersion, username, stats);
+
+            // 10. 建立算子包-算子关联
+            createPackageOperators(pkg, metadata.getOperators().getInstances(), operatorMap, stats);
+
+            // 11. 自动同步公共库到算子包
+            syncLibrariesToPackage(pkg, libraryMap, stats);
+            listener.onPhase(ImportPhase.LINKS_CREATED);
+
+            log.info("算子包导入成功：packageName={}, operatorsUpdated={}, operatorsCreated={}, librariesUpdated={}, librariesCreated={}",
+                    finalPackageName, stats.operatorsUpdated, stats.operatorsCreated,
+                    stats.librariesUpdated, stats.librariesCreated);
+
+            return PackageImportResponse.builder()
+                    .id(pkg.getId())
+                    .name(finalPackageName)
+                    .operatorsUpdated(stats.operatorsUpdated)
+                    .operatorsCreated(stats.operatorsCreated)
+                    .librariesUpdated(stats.librariesUpdated)
+                    .librariesCreated(stats.librariesCreated)
+                    .build();
         }
     }
 
     /**
      * 解析元数据文件
      */
-    private PackageImportMetadata parseMetadata(ZipFile zipFile) throws IOException {
-        // 查找元数据文件
-        ZipArchiveEntry metadataEntry = findMetadataEntry(zipFile);
+    private PackageImportMetadata parseMetadata(ZipFile zipFile, ZipArchiveEntry metadataEntry) throws IOException {
         if (metadataEntry == null) {
             throw new BadRequestException("导入包缺少元数据文件 metainfo_operators.yml");
         }
 
         // 读取并解析 YAML
-        String yamlContent = new String(zipFile.getInputStream(metadataEntry).readAllBytes(), StandardCharsets.UTF_8);
+        String yamlContent = readEntry(zipFile, metadataEntry);
         Yaml yaml = new Yaml();
 
         Map<String, Object> data = yaml.load(yamlContent);
@@ -196,43 +516,82 @@ public class PackageImportService {
     }
 
     /**
-     * 查找元数据文件
+     * 单次遍历压缩包条目并分类
+     * 只根据条目名称分类，不读取内容
      */
-    private ZipArchiveEntry findMetadataEntry(ZipFile zipFile) {
-        for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
-            if (entry.getName().endsWith("metainfo_operators.yml")) {
-                return entry;
-            }
-        }
-        return null;
-    }
+    private ArchiveIndex indexEntries(ZipFile zipFile) {
+        ArchiveIndex index = new ArchiveIndex();
 
-    /**
-     * 从 ZIP 根目录结构提取包名
-     */
-    private String extractPackageName(ZipFile zipFile) {
-        for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+        Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
+        while (entries.hasMoreElements()) {
+            ZipArchiveEntry entry = entries.nextElement();
             String path = entry.getName();
-            if (path.contains("/")) {
-                String firstPart = path.split("/")[0];
-                if (!firstPart.isEmpty()) {
-                    return firstPart;
+
+            // 包名取第一个位于子目录中的条目的根目录名
+            if (index.packageName == null) {
+                int firstSlash = path.indexOf('/');
+                if (firstSlash > 0) {
+                    index.packageName = path.substring(0, firstSlash);
                 }
             }
+
+            // 元数据文件
+            if (path.endsWith(METADATA_FILE_NAME)) {
+                if (index.metadataEntry == null) {
+                    index.metadataEntry = entry;
+                }
+                continue;
+            }
+
+            // 跳过目录
+            if (entry.isDirectory()) {
+                continue;
+            }
+
+            // 算子代码文件：operators/groovy/{operatorCode}.groovy
+            Matcher operatorMatcher = OPERATOR_ENTRY_PATTERN.matcher(path);
+            if (operatorMatcher.find()) {
+                String operatorCode = operatorMatcher.group(1);
+                index.operatorEntries.put(operatorCode, entry);
+
+                log.debug("提取算子代码文件：operatorCode={}", operatorCode);
+                continue;
+            }
+
+            // 公共库文件
+            LibraryInfo libInfo = parseLibraryInfo(path);
+            if (libInfo != null) {
+                LibraryContent content = index.libraryContents.computeIfAbsent(libInfo.libraryName, k -> new LibraryContent());
+                content.libraryName = libInfo.libraryName;
+                content.libraryType = libInfo.libraryType;
+
+                // 只记录条目，内容在处理公共库时读取
+                content.files.add(new LibraryFile(libInfo.fileName, entry));
+
+                log.debug("提取公共库文件：library={}, type={}, file={}", libInfo.libraryName, libInfo.libraryType, libInfo.fileName);
+            }
         }
-        return "imported_package";
+
+        log.info("压缩包条目分类完成：operators={}, libraries={}, metadata={}",
+                index.operatorEntries.size(), index.libraryContents.size(), index.metadataEntry != null);
+
+        return index;
     }
 
     /**
      * 处理算子包名称冲突
+     * 一次查询取出原名称及其所有 "_N" 变体，在内存中确定第一个可用后缀并预留
      */
     private String handlePackageNameConflict(final String originalName) {
         final String finalOriginalName = originalName;
+        Set<String> existingNames = new HashSet<>(packageRepository.findNamesByNameOrPrefix(
+                originalName, LikePatterns.escape(originalName) + "\\_%"));
+
         String name = originalName;
         int counter = 1;
 
-        // 检查现有包名列表
-        while (checkPackageNameExists(name)) {
+        // 跳过已存在或已被其他进行中的导入预留的名称
+        while (existingNames.contains(name) || !reservePackageName(name)) {
             name = finalOriginalName + "_" + counter++;
         }
 
@@ -244,44 +603,31 @@ public class PackageImportService {
     }
 
     /**
-     * 检查算子包名称是否存在
+     * 预留算子包名称，由调用方在导入结束后释放
+     * 预留成功后再按名称检查一次，避免其他导入在查询之后、预留之前提交了同名算子包
      */
-    private boolean checkPackageNameExists(String name) {
-        return packageRepository.findAll().stream().anyMatch(p -> p.getName().equals(name));
+    private boolean reservePackageName(String name) {
+        if (!reservedPackageNames.add(name)) {
+            return false;
+        }
+
+        if (packageRepository.existsByName(name)) {
+            reservedPackageNames.remove(name);
+            return false;
+        }
+        return true;
     }
 
     /**
-     * 提取公共库文件
+     * 当前事务结束后释放预留的算子包名称
      */
-    private Map<String, LibraryContent> extractLibraryFiles(ZipFile zipFile) throws IOException {
-        Map<String, LibraryContent> libraryContents = new HashMap<>();
-
-        for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
-            String path = entry.getName();
-
-            // 跳过目录和元数据文件
-            if (entry.isDirectory() || path.endsWith("metainfo_operators.yml")) {
-                continue;
+    private void releasePackageNameOnCompletion(String name) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                reservedPackageNames.remove(name);
             }
-
-            // 解析库类型和库名
-            LibraryInfo libInfo = parseLibraryInfo(path);
-            if (libInfo != null) {
-                String key = libInfo.libraryName;
-
-                LibraryContent content = libraryContents.computeIfAbsent(key, k -> new LibraryContent());
-                content.libraryName = libInfo.libraryName;
-                content.libraryType = libInfo.libraryType;
-
-                // 读取文件内容
-                String fileContent = new String(zipFile.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8);
-                content.files.add(new LibraryFile(libInfo.fileName, fileContent));
-
-                log.info("提取公共库文件：library={}, type={}, file={}", libInfo.libraryName, libInfo.libraryType, libInfo.fileName);
-            }
-        }
-
-        return libraryContents;
+        });
     }
 
     /**
@@ -344,27 +690,12 @@ public class PackageImportService {
     }
 
     /**
-     * 提取算子代码文件
+     * 读取条目内容
      */
-    private Map<String, String> extractOperatorCodes(ZipFile zipFile) throws IOException {
-        Map<String, String> operatorCodes = new HashMap<>();
-
-        for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
-            String path = entry.getName();
-
-            // 匹配算子代码文件路径：operators/groovy/{operatorCode}.groovy
-            if (path.matches(".*/operators/groovy/[^/]+\\.groovy$")) {
-                String operatorCode = extractFileName(path);
-                operatorCode = operatorCode.substring(0, operatorCode.lastIndexOf('.'));
-
-                String code = new String(zipFile.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8);
-                operatorCodes.put(operatorCode, code);
-
-                log.info("提取算子代码文件：operatorCode={}", operatorCode);
-            }
+    private String readEntry(ZipFile zipFile, ZipArchiveEntry entry) throws IOException {
+        try (InputStream entryStream = zipFile.getInputStream(entry)) {
+            return new String(entryStream.readAllBytes(), StandardCharsets.UTF_8);
         }
-
-        return operatorCodes;
     }
 
     /**
@@ -372,7 +703,7 @@ public class PackageImportService {
      */
     private void validateDataIntegrity(PackageImportMetadata metadata,
                                        Map<String, LibraryContent> libraryContents,
-                                       Map<String, String> operatorCodes) {
+                                       Map<String, ZipArchiveEntry> operatorEntries) {
 
         // 验证元数据
         if (metadata.getBusinessName() == null || metadata.getBusinessName().isEmpty()) {
@@ -390,7 +721,7 @@ public class PackageImportService {
                 throw new BadRequestException("元数据中的算子缺少 operator_code 字段");
             }
 
-            if (!operatorCodes.containsKey(om.getOperator_code())) {
+            if (!operatorEntries.containsKey(om.getOperator_code())) {
                 throw new BadRequestException("缺少算子代码文件：" + om.getOperator_code() + ".groovy");
             }
         }
@@ -402,7 +733,7 @@ public class PackageImportService {
             }
 
             for (LibraryFile file : content.files) {
-                if (file.content == null || file.content.isEmpty()) {
+                if (file.entry.getSize() == 0) {
                     throw new BadRequestException("公共库 " + content.libraryName + " 的文件 " + file.fileName + " 内容为空");
                 }
             }
@@ -413,24 +744,31 @@ public class PackageImportService {
 
     /**
      * 处理公共库
+     *
+     * @param undo 撤销日志，分块导入时记录变更以便失败时补偿，否则为 null
      */
-    private Map<String, CommonLibrary> processLibraries(Map<String, LibraryContent> libraryContents,
+    private Map<String, CommonLibrary> processLibraries(ZipFile zipFile,
+                                                      Map<String, LibraryContent> libraryContents,
                                                       String username,
-                                                      ImportStatistics stats) {
+                                                      ImportStatistics stats,
+                                                      ImportUndoLog undo) throws IOException {
         Map<String, CommonLibrary> libraryMap = new HashMap<>();
 
-        for (LibraryContent content : libraryContents.values()) {
-            // 查询现有公共库（按名称查询，不区分版本）
-            java.util.Optional<CommonLibrary> libraryOpt = commonLibraryRepository
-                    .findByName(content.libraryName);
+        // 批量查询现有公共库（按名称查询，不区分版本）
+        Map<String, CommonLibrary> existingLibraries = findExistingLibraries(libraryContents.keySet());
 
-            CommonLibrary library;
-            if (libraryOpt.isPresent()) {
+        for (LibraryContent content : libraryContents.values()) {
+            CommonLibrary library = existingLibraries.get(content.libraryName);
+            if (library != null) {
                 // 复用现有公共库，替换所有代码文件
-                library = libraryOpt.get();
                 log.info("复用现有公共库：libraryName={}, version={}",
                          content.libraryName, library.getVersion());
 
+                if (undo != null) {
+                    undo.recordLibraryUpdate(library,
+                            commonLibraryFileRepository.findByLibraryIdOrderByOrderIndex(library.getId()));
+                }
+
                 // 如果现有公共库的版本号为空，设置为默认值 "1.0"
                 if (library.getVersion() == null) {
                     library.setVersion("1.0");
@@ -440,6 +778,7 @@ public class PackageImportService {
 
                 // 删除所有旧文件
                 commonLibraryFileRepository.deleteByLibraryId(library.getId());
+                codeSearchIndex.removeLibrary(library.getId());
 
                 // 添加新文件
                 List<CommonLibraryFile> files = new ArrayList<>();
@@ -447,12 +786,12 @@ public class PackageImportService {
                     CommonLibraryFile libraryFile = CommonLibraryFile.builder()
                             .library(library)
                             .fileName(file.fileName)
-                            .code(file.content)
+                            .code(readEntry(zipFile, file.entry))
                             .orderIndex(1)
                             .build();
                     files.add(libraryFile);
                 }
-                commonLibraryFileRepository.saveAll(files);
+                indexLibraryFiles(commonLibraryFileRepository.saveAll(files));
 
                 stats.librariesUpdated++;
 
@@ -469,6 +808,9 @@ public class PackageImportService {
 
                 library = commonLibraryRepository.save(library);
                 library.setCreatedBy(username);
+                if (undo != null) {
+                    undo.createdLibraryIds.add(library.getId());
+                }
 
                 // 添加文件
                 List<CommonLibraryFile> files = new ArrayList<>();
@@ -477,12 +819,12 @@ public class PackageImportService {
                     CommonLibraryFile libraryFile = CommonLibraryFile.builder()
                             .library(library)
                             .fileName(file.fileName)
-                            .code(file.content)
+                            .code(readEntry(zipFile, file.entry))
                             .orderIndex(orderIndex++)
                             .build();
                     files.add(libraryFile);
                 }
-                commonLibraryFileRepository.saveAll(files);
+                indexLibraryFiles(commonLibraryFileRepository.saveAll(files));
 
                 stats.librariesCreated++;
             }
@@ -495,27 +837,35 @@ public class PackageImportService {
 
     /**
      * 处理算子
+     *
+     * @param undo 撤销日志，分块导入时记录变更以便失败时补偿，否则为 null
      */
-    private Map<String, Operator> processOperators(PackageImportMetadata metadata,
-                                                   Map<String, String> operatorCodes,
-                                                   Map<String, CommonLibrary> libraryMap,
+    private Map<String, Operator> processOperators(ZipFile zipFile,
+                                                   List<PackageImportMetadata.OperatorMetadata> instances,
+                                                   Map<String, ZipArchiveEntry> operatorEntries,
                                                    String username,
-                                                   ImportStatistics stats) {
+                                                   ImportStatistics stats,
+                                                   ImportUndoLog undo) throws IOException {
         Map<String, Operator> operatorMap = new HashMap<>();
+        operatorFacetCache.invalidate();
 
-        for (PackageImportMetadata.OperatorMetadata om : metadata.getOperators().getInstances()) {
-            String operatorCode = om.getOperator_code();
-            String code = operatorCodes.get(operatorCode);
+        // 批量查询现有算子
+        Map<String, Operator> existingOperators = findExistingOperators(
+                instances.stream().map(PackageImportMetadata.OperatorMetadata::getOperator_code).toList());
 
-            // 查询现有算子
-            java.util.Optional<Operator> operatorOpt = operatorRepository.findByOperatorCode(operatorCode);
+        for (PackageImportMetadata.OperatorMetadata om : instances) {
+            String operatorCode = om.getOperator_code();
+            String code = readEntry(zipFile, operatorEntries.get(operatorCode));
 
-            Operator operator;
-            if (operatorOpt.isPresent()) {
+            Operator operator = existingOperators.get(operatorCode);
+            if (operator != null) {
                 // 复用现有算子，更新基本信息和代码
-                operator = operatorOpt.get();
                 log.info("复用现有算子：operatorCode={}", operatorCode);
 
+                if (undo != null) {
+                    undo.recordOperatorUpdate(operator);
+                }
+
                 operator.setName(om.getName());
                 operator.setObjectCode(om.getObject_code());
                 if (om.getData_format() != null) {
@@ -548,16 +898,77 @@ public class PackageImportService {
 
                 operator = operatorRepository.save(operator);
                 operator.setCreatedBy(username);
+                if (undo != null) {
+                    undo.createdOperatorIds.add(operator.getId());
+                }
 
                 stats.operatorsCreated++;
             }
 
+            codeSearchIndex.indexOperator(operator.getId(), code);
+
+            // 元数据中重复出现的算子按已存在处理
+            existingOperators.put(operatorCode, operator);
             operatorMap.put(operatorCode, operator);
         }
 
         return operatorMap;
     }
 
+    /**
+     * 将保存的公共库文件加入代码搜索索引（事务提交后生效）
+     */
+    private void indexLibraryFiles(List<CommonLibraryFile> files) {
+        for (CommonLibraryFile file : files) {
+            codeSearchIndex.indexLibraryFile(file.getLibrary().getId(), file.getId(), file.getCode());
+        }
+    }
+
+    /**
+     * 批量查询已存在的公共库，按库名称索引
+     */
+    private Map<String, CommonLibrary> findExistingLibraries(Collection<String> libraryNames) {
+        Map<String, CommonLibrary> libraries = new HashMap<>();
+        for (List<String> chunk : partition(libraryNames)) {
+            for (CommonLibrary library : commonLibraryRepository.findByNameIn(chunk)) {
+                libraries.putIfAbsent(library.getName(), library);
+            }
+        }
+        return libraries;
+    }
+
+    /**
+     * 批量查询已存在的算子，按算子编码索引
+     */
+    private Map<String, Operator> findExistingOperators(Collection<String> operatorCodes) {
+        Map<String, Operator> operators = new HashMap<>();
+        for (List<String> chunk : partition(new LinkedHashSet<>(operatorCodes))) {
+            for (Operator operator : operatorRepository.findByOperatorCodeIn(chunk)) {
+                operators.put(operator.getOperatorCode(), operator);
+            }
+        }
+        return operators;
+    }
+
+    /**
+     * 按 IN 查询参数上限拆分集合
+     */
+    private static <T> List<List<T>> partition(Collection<T> values) {
+        return partition(values, IN_QUERY_BATCH_SIZE);
+    }
+
+    /**
+     * 按指定大小拆分集合
+     */
+    private static <T> List<List<T>> partition(Collection<T> values, int size) {
+        List<T> list = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return chunks;
+    }
+
     /**
      * 创建算子包
      */
@@ -608,26 +1019,51 @@ public class PackageImportService {
 
     /**
      * 自动同步公共库到算子包
+     * 一次查询已存在的关联，在内存中计算差集，只插入缺失的记录，重复导入不会产生重复关联
      */
     private void syncLibrariesToPackage(OperatorPackage pkg,
                                        Map<String, CommonLibrary> libraryMap,
                                        ImportStatistics stats) {
-        List<OperatorCommonLibrary> operatorCommonLibraries = new ArrayList<>();
-        List<PackageCommonLibrary> packageCommonLibraries = new ArrayList<>();
+        if (libraryMap.isEmpty()) {
+            log.info("导入包不包含公共库，跳过同步");
+            return;
+        }
 
         // 获取算子包的算子关联
         List<PackageOperator> packageOperators = packageOperatorRepository
                 .findByOperatorPackageIdOrderByOrderIndexAsc(pkg.getId());
 
-        // 先处理包级别关联（每个库只创建一条记录，去重）
+        // 先处理包级别关联（使用第一个算子作为来源）
+        List<PackageCommonLibrary> packageCommonLibraries =
+                createPackageLibraries(pkg, packageOperators.get(0).getOperator(), libraryMap);
+
+        // 再处理算子级别关联
+        Map<Long, Operator> operators = new LinkedHashMap<>();
+        for (PackageOperator po : packageOperators) {
+            operators.putIfAbsent(po.getOperator().getId(), po.getOperator());
+        }
+        List<OperatorCommonLibrary> operatorCommonLibraries = createOperatorLibraryLinks(operators.values(), libraryMap);
+
+        log.info("同步公共库到算子包成功：operatorLevel={}, packageLevel={}, operatorLevelExisting={}",
+                operatorCommonLibraries.size(), packageCommonLibraries.size(),
+                operators.size() * libraryMap.size() - operatorCommonLibraries.size());
+    }
+
+    /**
+     * 创建包级别公共库关联（每个库只创建一条记录，跳过已存在的关联）
+     */
+    private List<PackageCommonLibrary> createPackageLibraries(OperatorPackage pkg,
+                                                              Operator sourceOperator,
+                                                              Map<String, CommonLibrary> libraryMap) {
+        List<PackageCommonLibrary> packageCommonLibraries = new ArrayList<>();
+
+        Set<Long> packageLibraryIds = new HashSet<>(packageCommonLibraryRepository.findLibraryIdsByPackageId(pkg.getId()));
         int orderIndex = 0;
         for (CommonLibrary library : libraryMap.values()) {
-            boolean exists = packageCommonLibraryRepository
-                    .existsByOperatorPackageIdAndLibraryId(pkg.getId(), library.getId());
-            if (!exists) {
+            if (packageLibraryIds.add(library.getId())) {
                 PackageCommonLibrary pcl = PackageCommonLibrary.builder()
                         .operatorPackage(pkg)
-                        .operator(packageOperators.get(0).getOperator()) // 使用第一个算子作为来源
+                        .operator(sourceOperator)
                         .library(library)
                         .version(library.getVersion())
                         .orderIndex(orderIndex++)
@@ -637,25 +1073,249 @@ public class PackageImportService {
             }
         }
 
-        // 再处理算子级别关联（每个算子都需要创建记录）
-        for (PackageOperator po : packageOperators) {
+        return packageCommonLibraryRepository.saveAll(packageCommonLibraries);
+    }
+
+    /**
+     * 创建算子级别公共库关联（每个算子都需要关联所有公共库，跳过已存在的关联）
+     */
+    private List<OperatorCommonLibrary> createOperatorLibraryLinks(Collection<Operator> operators,
+                                                                   Map<String, CommonLibrary> libraryMap) {
+        List<OperatorCommonLibrary> operatorCommonLibraries = new ArrayList<>();
+
+        Set<LinkKey> existingLinks = findExistingOperatorLibraryLinks(
+                operators.stream().map(Operator::getId).toList(),
+                libraryMap.values().stream().map(CommonLibrary::getId).toList());
+
+        for (Operator operator : operators) {
             for (CommonLibrary library : libraryMap.values()) {
-                OperatorCommonLibrary ocl = OperatorCommonLibrary.builder()
-                        .operator(po.getOperator())
-                        .library(library)
-                        .build();
-                operatorCommonLibraries.add(ocl);
+                if (existingLinks.add(new LinkKey(operator.getId(), library.getId()))) {
+                    OperatorCommonLibrary ocl = OperatorCommonLibrary.builder()
+                            .operator(operator)
+                            .library(library)
+                            .build();
+                    operatorCommonLibraries.add(ocl);
+                }
             }
         }
 
-        operatorCommonLibraryRepository.saveAll(operatorCommonLibraries);
-        packageCommonLibraryRepository.saveAll(packageCommonLibraries);
-        log.info("同步公共库到算子包成功：operatorLevel={}, packageLevel={}",
-                operatorCommonLibraries.size(), packageCommonLibraries.size());
+        return operatorCommonLibraryRepository.saveAll(operatorCommonLibraries);
+    }
+
+    /**
+     * 批量查询算子与公共库之间已存在的关联
+     */
+    private Set<LinkKey> findExistingOperatorLibraryLinks(Collection<Long> operatorIds, Collection<Long> libraryIds) {
+        Set<LinkKey> links = new HashSet<>();
+        for (List<Long> chunk : partition(operatorIds)) {
+            for (Object[] row : operatorCommonLibraryRepository.findLinkPairs(chunk, libraryIds)) {
+                links.add(new LinkKey((Long) row[0], (Long) row[1]));
+            }
+        }
+        return links;
     }
 
     // ========== 内部类 ==========
 
+    /**
+     * 算子-公共库关联键
+     */
+    private record LinkKey(Long operatorId, Long libraryId) {
+    }
+
+    /**
+     * 可抛出 IO 异常的导入步骤
+     */
+    @FunctionalInterface
+    private interface ImportStep<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * 被更新算子的原始内容
+     */
+    private record OperatorSnapshot(Long id, String name, String objectCode, String dataFormat,
+                                    String generator, String code) {
+    }
+
+    /**
+     * 被更新公共库的原始版本号和文件
+     */
+    private record LibrarySnapshot(Long id, String version, List<LibraryFileSnapshot> files) {
+    }
+
+    /**
+     * 被更新公共库文件的原始内容（恢复时重建文件所需的字段）
+     */
+    private record LibraryFileSnapshot(String fileName, String filePath, Integer orderIndex, String code) {
+    }
+
+    /**
+     * 分块导入撤销日志
+     * 记录已提交的新建记录 ID 和被更新记录的原始内容；算子和公共库文件的原始代码可能很大，
+     * 写入临时文件而不是保存在内存中
+     */
+    private static class ImportUndoLog implements Closeable {
+        Long packageId;
+        final Set<Long> createdOperatorIds = new HashSet<>();
+        final List<Long> createdLibraryIds = new ArrayList<>();
+        final List<Long> createdLinkIds = new ArrayList<>();
+        private final Set<Long> snapshotLibraryIds = new HashSet<>();
+        private final Set<Long> snapshotOperatorIds = new HashSet<>();
+        private Path operatorSnapshotFile;
+        private DataOutputStream operatorSnapshotOutput;
+        private Path librarySnapshotFile;
+        private DataOutputStream librarySnapshotOutput;
+
+        boolean isEmpty() {
+            return packageId == null && createdOperatorIds.isEmpty() && createdLibraryIds.isEmpty()
+                    && createdLinkIds.isEmpty() && snapshotLibraryIds.isEmpty() && snapshotOperatorIds.isEmpty();
+        }
+
+        /**
+         * 记录公共库更新前的版本号和文件，同一公共库只记录第一次，本次导入新建的公共库不记录
+         */
+        void recordLibraryUpdate(CommonLibrary library, List<CommonLibraryFile> files) throws IOException {
+            if (createdLibraryIds.contains(library.getId()) || !snapshotLibraryIds.add(library.getId())) {
+                return;
+            }
+            if (librarySnapshotOutput == null) {
+                librarySnapshotFile = Files.createTempFile("import_undo_library", ".bin");
+                librarySnapshotOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(librarySnapshotFile)));
+            }
+            librarySnapshotOutput.writeLong(library.getId());
+            writeString(librarySnapshotOutput, library.getVersion());
+            librarySnapshotOutput.writeInt(files.size());
+            for (CommonLibraryFile file : files) {
+                writeString(librarySnapshotOutput, file.getFileName());
+                writeString(librarySnapshotOutput, file.getFilePath());
+                librarySnapshotOutput.writeBoolean(file.getOrderIndex() != null);
+                librarySnapshotOutput.writeInt(file.getOrderIndex() != null ? file.getOrderIndex() : 0);
+                writeString(librarySnapshotOutput, file.getCode());
+            }
+        }
+
+        /**
+         * 逐个读取被更新公共库的原始内容，同一时间只有一个公共库的文件在内存中
+         */
+        void forEachLibrarySnapshot(Consumer<LibrarySnapshot> consumer) throws IOException {
+            if (librarySnapshotOutput == null) {
+                return;
+            }
+            librarySnapshotOutput.flush();
+
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(librarySnapshotFile)))) {
+                for (int i = 0; i < snapshotLibraryIds.size(); i++) {
+                    Long id = input.readLong();
+                    String version = readString(input);
+                    int fileCount = input.readInt();
+                    List<LibraryFileSnapshot> files = new ArrayList<>(fileCount);
+                    for (int j = 0; j < fileCount; j++) {
+                        String fileName = readString(input);
+                        String filePath = readString(input);
+                        boolean hasOrderIndex = input.readBoolean();
+                        int orderIndex = input.readInt();
+                        files.add(new LibraryFileSnapshot(fileName, filePath,
+                                hasOrderIndex ? orderIndex : null, readString(input)));
+                    }
+                    consumer.accept(new LibrarySnapshot(id, version, files));
+                }
+            }
+        }
+
+        /**
+         * 记录算子更新前的内容，同一算子只记录第一次，本次导入新建的算子不记录
+         */
+        void recordOperatorUpdate(Operator operator) throws IOException {
+            if (createdOperatorIds.contains(operator.getId()) || !snapshotOperatorIds.add(operator.getId())) {
+                return;
+            }
+            if (operatorSnapshotOutput == null) {
+                operatorSnapshotFile = Files.createTempFile("import_undo", ".bin");
+                operatorSnapshotOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(operatorSnapshotFile)));
+            }
+            operatorSnapshotOutput.writeLong(operator.getId());
+            writeString(operatorSnapshotOutput, operator.getName());
+            writeString(operatorSnapshotOutput, operator.getObjectCode());
+            writeString(operatorSnapshotOutput, operator.getDataFormat());
+            writeString(operatorSnapshotOutput, operator.getGenerator());
+            writeString(operatorSnapshotOutput, operator.getCode());
+        }
+
+        /**
+         * 按批读取被更新算子的原始内容
+         */
+        void forEachOperatorSnapshotChunk(int size, Consumer<List<OperatorSnapshot>> consumer) throws IOException {
+            if (operatorSnapshotOutput == null) {
+                return;
+            }
+            operatorSnapshotOutput.flush();
+
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(operatorSnapshotFile)))) {
+                List<OperatorSnapshot> chunk = new ArrayList<>();
+                for (int i = 0; i < snapshotOperatorIds.size(); i++) {
+                    chunk.add(new OperatorSnapshot(input.readLong(), readString(input), readString(input),
+                            readString(input), readString(input), readString(input)));
+                    if (chunk.size() == size) {
+                        consumer.accept(chunk);
+                        chunk = new ArrayList<>();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    consumer.accept(chunk);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            deleteSnapshotFile(operatorSnapshotOutput, operatorSnapshotFile);
+            deleteSnapshotFile(librarySnapshotOutput, librarySnapshotFile);
+        }
+
+        private static void deleteSnapshotFile(DataOutputStream output, Path file) {
+            if (output == null) {
+                return;
+            }
+            try {
+                output.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("删除导入撤销日志失败", e);
+            }
+        }
+
+        private static void writeString(DataOutputStream output, String value) throws IOException {
+            if (value == null) {
+                output.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+
+        private static String readString(DataInputStream input) throws IOException {
+            int length = input.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            input.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 压缩包条目索引
+     */
+    private static class ArchiveIndex {
+        ZipArchiveEntry metadataEntry;
+        String packageName;
+        Map<String, LibraryContent> libraryContents = new HashMap<>();
+        Map<String, ZipArchiveEntry> operatorEntries = new HashMap<>();
+    }
+
     /**
      * 导入统计
      */
@@ -680,11 +1340,11 @@ public class PackageImportService {
      */
     private static class LibraryFile {
         final String fileName;
-        final String content;
+        final ZipArchiveEntry entry;
 
-        LibraryFile(String fileName, String content) {
+        LibraryFile(String fileName, ZipArchiveEntry entry) {
             this.fileName = fileName;
-            this.content = content;
+            this.entry = entry;
         }
     }
 
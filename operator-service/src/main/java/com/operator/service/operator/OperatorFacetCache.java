@@ -0,0 +1,79 @@
+package com.operator.service.operator;
+
+import com.operator.common.dto.operator.OperatorFacetsResponse;
+import com.operator.core.operator.repository.OperatorFacetFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of operator facet counts, keyed by the active filters
+ *
+ * Entries expire after the configured TTL and are all dropped when an operator write commits.
+ * A result computed while a write committed is not cached, so a stale count never outlives the TTL.
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class OperatorFacetCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    @Value("${operator.facets.cache-ttl:30s}")
+    private Duration ttl;
+
+    private final Map<OperatorFacetFilter, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public OperatorFacetsResponse get(OperatorFacetFilter filter, Supplier<OperatorFacetsResponse> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(filter);
+        if (entry != null && now - entry.loadedAt() < ttl.toNanos()) {
+            return entry.response();
+        }
+
+        long loadedGeneration = generation.get();
+        OperatorFacetsResponse response = loader.get();
+        if (generation.get() == loadedGeneration) {
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entries.put(filter, new Entry(response, now));
+        }
+        return response;
+    }
+
+    /**
+     * Drop all cached counts once the current transaction commits (immediately outside a transaction)
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private record Entry(OperatorFacetsResponse response, long loadedAt) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.operator.service.operator;
 
 import com.operator.common.dto.operator.*;
+import com.operator.common.utils.CursorPageResponse;
 import com.operator.common.utils.PageResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -47,6 +48,21 @@ public interface OperatorService {
      */
     PageResponse<OperatorResponse> searchOperators(OperatorSearchRequest request);
 
+    /**
+     * Get operators by keyset cursor (createdAt, id), newest first
+     *
+     * @param cursor cursor returned by the previous page, null for the first page
+     * @param withTotal whether to include the approximate total operator count
+     */
+    CursorPageResponse<OperatorResponse> getOperatorsByCursor(String cursor, int size, String language,
+                                                              String status, String keyword, boolean withTotal);
+
+    /**
+     * Get operator counts per language, status, data format and generator for the given filters
+     */
+    OperatorFacetsResponse getOperatorFacets(String language, String status, String dataFormat,
+                                             String generator, String keyword);
+
     /**
      * Get all operators (paginated)
      */
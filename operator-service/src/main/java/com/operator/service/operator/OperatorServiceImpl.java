@@ -6,6 +6,8 @@ import com.operator.common.enums.LanguageType;
 import com.operator.common.enums.OperatorStatus;
 import com.operator.common.enums.ParameterType;
 import com.operator.common.exception.ResourceNotFoundException;
+import com.operator.common.utils.CursorPageResponse;
+import com.operator.common.utils.PageCursor;
 import com.operator.common.utils.PageResponse;
 import com.operator.core.library.domain.CommonLibrary;
 import com.operator.core.library.domain.OperatorCommonLibrary;
@@ -15,22 +17,37 @@ import com.operator.core.library.repository.OperatorCommonLibraryRepository;
 import com.operator.core.library.repository.PackageCommonLibraryRepository;
 import com.operator.core.library.repository.CommonLibraryFileRepository;
 import com.operator.core.operator.domain.Operator;
+import com.operator.core.support.RowCountEstimator;
 import com.operator.common.exception.BadRequestException;
 import com.operator.core.operator.domain.Parameter;
+import com.operator.core.operator.repository.OperatorFacetCount;
+import com.operator.core.operator.repository.OperatorFacetFilter;
 import com.operator.core.operator.repository.OperatorRepository;
+import com.operator.core.operator.repository.OperatorSpecifications;
+import com.operator.core.operator.repository.OperatorSummary;
 import com.operator.core.operator.repository.ParameterRepository;
 import com.operator.core.pkg.domain.PackageOperator;
 import com.operator.core.pkg.repository.PackageOperatorRepository;
+import com.operator.service.download.DownloadCounter;
+import com.operator.service.search.CatalogSearchEngine;
+import com.operator.service.search.CodeSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -44,6 +61,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OperatorServiceImpl implements OperatorService {
 
+    /**
+     * Keyset pagination order, must match the (createdAt, id) cursor
+     */
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "createdAt")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
     private final OperatorRepository operatorRepository;
     private final ParameterRepository parameterRepository;
     private final OperatorCommonLibraryRepository operatorCommonLibraryRepository;
@@ -51,6 +74,12 @@ public class OperatorServiceImpl implements OperatorService {
     private final PackageOperatorRepository packageOperatorRepository;
     private final CommonLibraryRepository commonLibraryRepository;
     private final CommonLibraryFileRepository commonLibraryFileRepository;
+    private final CatalogSearchEngine catalogSearchEngine;
+    private final CodeSearchIndex codeSearchIndex;
+    private final OperatorFacetCache operatorFacetCache;
+    private final DownloadCounter downloadCounter;
+    private final RowCountEstimator rowCountEstimator;
+
 
     @Override
     @Transactional
@@ -84,6 +113,8 @@ public class OperatorServiceImpl implements OperatorService {
                  request.getCode() != null ? request.getCode().length() : 0);
 
         operator = operatorRepository.save(operator);
+        codeSearchIndex.indexOperator(operator.getId(), operator.getCode());
+        operatorFacetCache.invalidate();
 
         log.info("Code after save, length: {}",
                  operator.getCode() != null ? operator.getCode().length() : 0);
@@ -179,6 +210,8 @@ public class OperatorServiceImpl implements OperatorService {
 
         operator.setUpdatedBy(username);
         operator = operatorRepository.save(operator);
+        codeSearchIndex.indexOperator(operator.getId(), operator.getCode());
+        operatorFacetCache.invalidate();
 
         log.info("=== SERVICE updateOperator: After save - code present: {}, code length: {}",
                 operator.getCode() != null,
@@ -225,6 +258,8 @@ public class OperatorServiceImpl implements OperatorService {
 
         // Parameters will be cascade deleted
         operatorRepository.delete(operator);
+        codeSearchIndex.removeOperator(id);
+        operatorFacetCache.invalidate();
         log.info("Operator deleted: {}", id);
     }
 
@@ -255,21 +290,111 @@ public class OperatorServiceImpl implements OperatorService {
                         org.springframework.data.domain.Sort.Direction.DESC, "createdAt")
         );
 
-        Page<Operator> page;
         if (request.getKeyword() != null && !request.getKeyword().trim().isEmpty()) {
-            page = operatorRepository.searchOperators(request.getKeyword(), pageable);
-        } else {
-            page = operatorRepository.findAll(pageable);
+            // Keyword search is ranked by relevance instead of creation time
+            Page<Long> ids = catalogSearchEngine.searchOperators(request.getKeyword(), pageable);
+            Map<Long, OperatorSummary> summaries = new HashMap<>();
+            for (OperatorSummary summary : operatorRepository.findSummaries(
+                    OperatorSpecifications.idIn(ids.getContent()), Sort.unsorted(), ids.getNumberOfElements())) {
+                summaries.put(summary.id(), summary);
+            }
+            List<OperatorResponse> content = ids.getContent().stream()
+                    .map(summaries::get)
+                    .filter(Objects::nonNull)
+                    .map(this::mapToSummaryResponse)
+                    .toList();
+            return PageResponse.of(new PageImpl<>(content, pageable, ids.getTotalElements()));
         }
 
-        return PageResponse.of(page.map(this::mapToResponse));
+        Page<OperatorSummary> page = operatorRepository.findSummaries(null, pageable);
+        return PageResponse.of(page.map(this::mapToSummaryResponse));
+    }
+
+    @Override
+    public CursorPageResponse<OperatorResponse> getOperatorsByCursor(String cursor, int size, String language,
+                                                                     String status, String keyword, boolean withTotal) {
+        log.debug("Getting operators by cursor - cursor: {}, size: {}, language: {}, status: {}, keyword: {}",
+                cursor, size, language, status, keyword);
+
+        Specification<Operator> spec = Specification.where(null);
+        PageCursor after = PageCursor.decode(cursor);
+        if (after != null) {
+            spec = spec.and(OperatorSpecifications.createdBefore(after.createdAt(), after.id()));
+        }
+        if (language != null && !language.isEmpty()) {
+            spec = spec.and(OperatorSpecifications.hasLanguage(LanguageType.valueOf(language)));
+        }
+        if (status != null && !status.isEmpty()) {
+            spec = spec.and(OperatorSpecifications.hasStatus(OperatorStatus.valueOf(status)));
+        }
+        if (keyword != null && !keyword.isEmpty()) {
+            spec = spec.and(OperatorSpecifications.nameOrDescriptionContains(keyword));
+        }
+
+        // Fetch one extra row to know whether there is a next page
+        List<OperatorSummary> rows = operatorRepository.findSummaries(spec, KEYSET_SORT, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<OperatorSummary> content = hasNext ? rows.subList(0, size) : rows;
+
+        PageCursor nextCursor = null;
+        if (hasNext) {
+            OperatorSummary last = content.get(content.size() - 1);
+            nextCursor = new PageCursor(last.createdAt(), last.id());
+        }
+
+        return CursorPageResponse.of(
+                content.stream().map(this::mapToSummaryResponse).toList(),
+                size,
+                nextCursor,
+                withTotal ? rowCountEstimator.estimate(operatorRepository::estimateCount, operatorRepository::count) : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OperatorFacetsResponse getOperatorFacets(String language, String status, String dataFormat,
+                                                    String generator, String keyword) {
+        OperatorFacetFilter filter = new OperatorFacetFilter(
+                language != null && !language.isEmpty() ? LanguageType.valueOf(language) : null,
+                status != null && !status.isEmpty() ? OperatorStatus.valueOf(status) : null,
+                dataFormat != null && !dataFormat.isEmpty() ? dataFormat : null,
+                generator != null && !generator.isEmpty() ? generator : null,
+                keyword != null && !keyword.isEmpty() ? keyword : null);
+
+        return operatorFacetCache.get(filter, () -> {
+            log.debug("Counting operator facets - filter: {}", filter);
+            OperatorFacetsResponse response = OperatorFacetsResponse.builder()
+                    .languages(new ArrayList<>())
+                    .statuses(new ArrayList<>())
+                    .dataFormats(new ArrayList<>())
+                    .generators(new ArrayList<>())
+                    .build();
+            for (OperatorFacetCount count : operatorRepository.countFacets(filter)) {
+                OperatorFacetsResponse.FacetCount bucket = OperatorFacetsResponse.FacetCount.builder()
+                        .value(count.value())
+                        .count(count.count())
+                        .build();
+                switch (count.facet()) {
+                    case "language" -> response.getLanguages().add(bucket);
+                    case "status" -> response.getStatuses().add(bucket);
+                    case "dataFormat" -> response.getDataFormats().add(bucket);
+                    case "generator" -> response.getGenerators().add(bucket);
+                    default -> response.setTotal(count.count());
+                }
+            }
+            Comparator<OperatorFacetsResponse.FacetCount> byCountDesc =
+                    Comparator.comparingLong(OperatorFacetsResponse.FacetCount::getCount).reversed();
+            response.getLanguages().sort(byCountDesc);
+            response.getStatuses().sort(byCountDesc);
+            response.getDataFormats().sort(byCountDesc);
+            response.getGenerators().sort(byCountDesc);
+            return response;
+        });
     }
 
     @Override
     public Page<OperatorResponse> getAllOperators(Pageable pageable) {
         log.info("Getting all operators");
-        Page<Operator> page = operatorRepository.findAll(pageable);
-        return page.map(this::mapToResponse);
+        return operatorRepository.findSummaries(null, pageable).map(this::mapToSummaryResponse);
     }
 
     @Override
@@ -282,10 +407,9 @@ public class OperatorServiceImpl implements OperatorService {
     @Override
     public List<OperatorResponse> getOperatorsByCreator(String username) {
         log.info("Getting operators by creator: {}", username);
-        List<Operator> operators = operatorRepository.findByCreatedBy(username);
-        return operators.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return operatorRepository.findSummaries(OperatorSpecifications.createdBy(username), Pageable.unpaged())
+                .map(this::mapToSummaryResponse)
+                .getContent();
     }
 
     @Override
@@ -318,6 +442,7 @@ public class OperatorServiceImpl implements OperatorService {
         operator.setUpdatedBy(username);
 
         operator = operatorRepository.save(operator);
+        operatorFacetCache.invalidate();
         return mapToResponse(operator);
     }
 
@@ -418,19 +543,44 @@ public class OperatorServiceImpl implements OperatorService {
     }
 
     @Override
-    @Transactional
     public void incrementDownloadCount(Long id) {
         log.info("Incrementing download count for operator: {}", id);
 
-        Operator operator = operatorRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Operator", id));
-
-        operator.setDownloadsCount((operator.getDownloadsCount() != null ? operator.getDownloadsCount() : 0) + 1);
-        operatorRepository.save(operator);
+        if (!operatorRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Operator", id);
+        }
+        downloadCounter.incrementOperator(id);
     }
 
     // Helper methods
 
+    /**
+     * Map a summary projection to a list row (code, business logic and parameters are only returned by getOperatorById)
+     */
+    private OperatorResponse mapToSummaryResponse(OperatorSummary operator) {
+        return OperatorResponse.builder()
+                .id(operator.id())
+                .name(operator.name())
+                .description(operator.description())
+                .language(convertToDtoLanguageType(operator.language()))
+                .status(convertToDtoOperatorStatus(operator.status()))
+                .version(operator.version())
+                .fileName(operator.fileName())
+                .fileSize(operator.fileSize())
+                .tags(new ArrayList<>()) // Empty list since tags are removed
+                .isPublic(operator.isPublic())
+                .downloadsCount(operator.downloadsCount())
+                .featured(operator.featured())
+                .createdBy(operator.createdBy())
+                .createdAt(operator.createdAt())
+                .updatedAt(operator.updatedAt())
+                .operatorCode(operator.operatorCode())
+                .objectCode(operator.objectCode())
+                .dataFormat(operator.dataFormat())
+                .generator(operator.generator())
+                .build();
+    }
+
     private OperatorResponse mapToResponse(Operator operator) {
         log.info("=== SERVICE mapToResponse: operator ID: {}, code present: {}, code length: {}",
                 operator.getId(),
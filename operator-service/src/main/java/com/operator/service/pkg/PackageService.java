@@ -3,6 +3,7 @@ package com.operator.service.pkg;
 import com.operator.common.dto.*;
 import com.operator.common.dto.library.*;
 import com.operator.common.dto.pkg.*;
+import com.operator.common.utils.CursorPageResponse;
 import com.operator.common.utils.PageResponse;
 
 import java.util.List;
@@ -38,17 +39,25 @@ public interface PackageService {
     /**
      * Get all packages (paginated)
      */
-    com.operator.common.utils.PageResponse<PackageResponse> getAllPackages(int page, int size);
+    com.operator.common.utils.PageResponse<PackageSummaryResponse> getAllPackages(int page, int size);
+
+    /**
+     * Get packages by keyset cursor (createdAt, id), newest first
+     *
+     * @param cursor cursor returned by the previous page, null for the first page
+     * @param withTotal whether to include the approximate total package count
+     */
+    CursorPageResponse<PackageSummaryResponse> getPackagesByCursor(String cursor, int size, boolean withTotal);
 
     /**
      * Search packages
      */
-    com.operator.common.utils.PageResponse<PackageResponse> searchPackages(String keyword, int page, int size);
+    com.operator.common.utils.PageResponse<PackageSummaryResponse> searchPackages(String keyword, int page, int size);
 
     /**
      * Get packages by creator
      */
-    List<PackageResponse> getPackagesByCreator(String username);
+    List<PackageSummaryResponse> getPackagesByCreator(String username);
 
     /**
      * Add operator to package
@@ -6,6 +6,8 @@ import com.operator.common.enums.LibraryType;
 import com.operator.common.enums.PackageStatus;
 import com.operator.common.enums.LanguageType;
 import com.operator.common.exception.ResourceNotFoundException;
+import com.operator.common.utils.CursorPageResponse;
+import com.operator.common.utils.PageCursor;
 import com.operator.common.utils.PageResponse;
 import com.operator.core.library.domain.PackageCommonLibrary;
 import com.operator.core.library.repository.CommonLibraryRepository;
@@ -18,20 +20,33 @@ import com.operator.core.pkg.domain.OperatorPackage;
 import com.operator.core.pkg.domain.PackageOperator;
 import com.operator.core.pkg.repository.OperatorPackageRepository;
 import com.operator.core.pkg.repository.PackageOperatorRepository;
+import com.operator.core.support.RowCountEstimator;
+import com.operator.service.download.DownloadCounter;
+import com.operator.service.library.PackageBuildCache;
 import com.operator.service.library.PackagePathResolver;
+import com.operator.service.search.CatalogSearchEngine;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -45,6 +60,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PackageServiceImpl implements PackageService {
 
+    /**
+     * Keyset pagination order, must match the (createdAt, id) cursor
+     */
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "createdAt")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
     private final OperatorPackageRepository packageRepository;
     private final PackageOperatorRepository packageOperatorRepository;
     private final OperatorRepository operatorRepository;
@@ -52,6 +73,10 @@ public class PackageServiceImpl implements PackageService {
     private final PackageCommonLibraryRepository packageCommonLibraryRepository;
     private final CommonLibraryRepository commonLibraryRepository;
     private final PackagePathResolver pathResolver;
+    private final PackageBuildCache packageBuildCache;
+    private final CatalogSearchEngine catalogSearchEngine;
+    private final DownloadCounter downloadCounter;
+    private final RowCountEstimator rowCountEstimator;
 
     @Override
     @Transactional
@@ -110,6 +135,7 @@ public class PackageServiceImpl implements PackageService {
                 .orElseThrow(() -> new ResourceNotFoundException("Package", id));
 
         packageRepository.delete(pkg);
+        packageBuildCache.evict(id);
     }
 
     @Override
@@ -120,24 +146,50 @@ public class PackageServiceImpl implements PackageService {
     }
 
     @Override
-    public PageResponse<PackageResponse> getAllPackages(int page, int size) {
+    public PageResponse<PackageSummaryResponse> getAllPackages(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<OperatorPackage> packages = packageRepository.findAll(pageable);
-        return PageResponse.of(packages.map(this::mapToResponse));
+        List<PackageSummaryResponse> content = mapToSummaryResponses(packages.getContent());
+        return PageResponse.of(new PageImpl<>(content, packages.getPageable(), packages.getTotalElements()));
     }
 
     @Override
-    public PageResponse<PackageResponse> searchPackages(String keyword, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<OperatorPackage> packages = packageRepository.searchPackages(keyword, pageable);
-        return PageResponse.of(packages.map(this::mapToResponse));
+    public CursorPageResponse<PackageSummaryResponse> getPackagesByCursor(String cursor, int size, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        Slice<OperatorPackage> packages = after == null
+                ? packageRepository.findFirstSlice(PageRequest.of(0, size, KEYSET_SORT))
+                : packageRepository.findSliceBefore(after.createdAt(), after.id(), PageRequest.of(0, size));
+
+        PageCursor nextCursor = null;
+        if (packages.hasNext()) {
+            OperatorPackage last = packages.getContent().get(packages.getNumberOfElements() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return CursorPageResponse.of(
+                mapToSummaryResponses(packages.getContent()),
+                size,
+                nextCursor,
+                withTotal ? rowCountEstimator.estimate(packageRepository::estimateCount, packageRepository::count) : null);
     }
 
     @Override
-    public List<PackageResponse> getPackagesByCreator(String username) {
-        return packageRepository.findByCreatedBy(username).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public PageResponse<PackageSummaryResponse> searchPackages(String keyword, int page, int size) {
+        // Ranked by relevance, then loaded by id in rank order
+        Pageable pageable = PageRequest.of(page, size);
+        Page<Long> ids = catalogSearchEngine.searchPackages(keyword, pageable);
+        Map<Long, OperatorPackage> packages = packageRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(OperatorPackage::getId, Function.identity()));
+        List<PackageSummaryResponse> content = mapToSummaryResponses(ids.getContent().stream()
+                .map(packages::get)
+                .filter(Objects::nonNull)
+                .toList());
+        return PageResponse.of(new PageImpl<>(content, pageable, ids.getTotalElements()));
+    }
+
+    @Override
+    public List<PackageSummaryResponse> getPackagesByCreator(String username) {
+        return mapToSummaryResponses(packageRepository.findByCreatedBy(username));
     }
 
     @Override
@@ -200,44 +252,57 @@ public class PackageServiceImpl implements PackageService {
         OperatorPackage pkg = packageRepository.findById(packageId)
                 .orElseThrow(() -> new ResourceNotFoundException("算子包", packageId));
 
-        List<BatchAddOperatorsResponse.FailedOperatorInfo> failedOperators = new java.util.ArrayList<>();
-        int successCount = 0;
-        int failedCount = 0;
+        // 一次查询算子名称和已在包中的算子，逐项判断是否可添加
+        Set<Long> requestedIds = new LinkedHashSet<>(request.getOperatorIds());
+        Map<Long, String> operatorNames = new HashMap<>();
+        for (Object[] row : operatorRepository.findIdAndNameByIdIn(requestedIds)) {
+            operatorNames.put((Long) row[0], (String) row[1]);
+        }
+        Set<Long> existingIds = new HashSet<>(
+                packageOperatorRepository.findOperatorIdsByPackageIdAndOperatorIdIn(packageId, requestedIds));
 
+        List<BatchAddOperatorsResponse.FailedOperatorInfo> failedOperators = new java.util.ArrayList<>();
+        List<Long> toAdd = new java.util.ArrayList<>();
+        Set<Long> seen = new HashSet<>();
         for (Long operatorId : request.getOperatorIds()) {
-            try {
-                // 构建单个添加请求
-                PackageOperatorRequest operatorRequest = PackageOperatorRequest.builder()
-                        .operatorId(operatorId)
-                        .orderIndex(request.getOrderIndex())
-                        .enabled(request.getEnabled())
-                        .build();
+            String operatorName = operatorNames.get(operatorId);
+            String reason = null;
+            if (operatorName == null) {
+                reason = "算子不存在";
+            } else if (existingIds.contains(operatorId) || !seen.add(operatorId)) {
+                reason = "Operator already exists in package";
+            }
 
-                // 调用添加算子方法
-                addOperator(packageId, operatorRequest, username);
-                successCount++;
-            } catch (IllegalArgumentException e) {
-                // 算子已存在等业务异常
-                Operator operator = operatorRepository.findById(operatorId).orElse(null);
-                failedCount++;
+            if (reason != null) {
                 failedOperators.add(BatchAddOperatorsResponse.FailedOperatorInfo.builder()
                         .operatorId(operatorId)
-                        .operatorName(operator != null ? operator.getName() : "未知")
-                        .reason(e.getMessage())
+                        .operatorName(operatorName != null ? operatorName : "未知")
+                        .reason(reason)
                         .build());
-                log.warn("添加算子 {} 到包 {} 失败：{}", operatorId, packageId, e.getMessage());
+                log.warn("添加算子 {} 到包 {} 失败：{}", operatorId, packageId, reason);
+            } else {
+                toAdd.add(operatorId);
+            }
+        }
+
+        int successCount = 0;
+        if (!toAdd.isEmpty()) {
+            // 单条 INSERT ... SELECT 插入全部关联
+            Integer orderIndex = request.getOrderIndex() != null ? request.getOrderIndex() : 1;
+            successCount = packageOperatorRepository.insertAll(packageId, toAdd, orderIndex,
+                    !Boolean.FALSE.equals(request.getEnabled()), username, LocalDateTime.now());
+
+            pkg.setOperatorCount((int) packageOperatorRepository.countByOperatorPackageId(packageId));
+            packageRepository.save(pkg);
+
+            // 同步新增算子的公共库到算子包
+            try {
+                syncOperatorLibrariesToPackage(pkg, toAdd);
             } catch (Exception e) {
-                // 其他异常
-                Operator operator = operatorRepository.findById(operatorId).orElse(null);
-                failedCount++;
-                failedOperators.add(BatchAddOperatorsResponse.FailedOperatorInfo.builder()
-                        .operatorId(operatorId)
-                        .operatorName(operator != null ? operator.getName() : "未知")
-                        .reason("系统错误：" + e.getMessage())
-                        .build());
-                log.error("添加算子 {} 到包 {} 失败：{}", operatorId, packageId, e.getMessage(), e);
+                log.error("同步公共库到算子包失败：packageId={}, operatorIds={}", packageId, toAdd, e);
             }
         }
+        int failedCount = failedOperators.size();
 
         log.info("批量添加完成：成功 {} 个，失败 {} 个", successCount, failedCount);
 
@@ -294,19 +359,26 @@ public class PackageServiceImpl implements PackageService {
         log.info("批量更新算子执行顺序：packageId={}, orderIndex={}, count={}",
                 packageId, request.getOrderIndex(), request.getPackageOperatorIds().size());
 
-        for (Long packageOperatorId : request.getPackageOperatorIds()) {
-            PackageOperator packageOperator = packageOperatorRepository.findById(packageOperatorId)
-                    .orElseThrow(() -> new ResourceNotFoundException("PackageOperator", packageOperatorId));
-
-            // 验证该算子属于指定包
-            if (!packageOperator.getOperatorPackage().getId().equals(packageId)) {
+        // 单条 UPDATE 语句更新全部算子顺序
+        Set<Long> packageOperatorIds = new LinkedHashSet<>(request.getPackageOperatorIds());
+        int updated = packageOperatorRepository.updateOrderIndex(packageId, packageOperatorIds,
+                request.getOrderIndex(), username, LocalDateTime.now());
+
+        // 有算子未更新时定位原因并回滚
+        if (updated < packageOperatorIds.size()) {
+            Set<Long> matched = new HashSet<>(
+                    packageOperatorRepository.findIdsByPackageIdAndIdIn(packageId, packageOperatorIds));
+            for (Long packageOperatorId : packageOperatorIds) {
+                if (matched.contains(packageOperatorId)) {
+                    continue;
+                }
+                if (!packageOperatorRepository.existsById(packageOperatorId)) {
+                    throw new ResourceNotFoundException("PackageOperator", packageOperatorId);
+                }
+                // 验证该算子属于指定包
                 throw new IllegalArgumentException(
                         String.format("算子 %d 不属于算子包 %d", packageOperatorId, packageId));
             }
-
-            packageOperator.setOrderIndex(request.getOrderIndex());
-            packageOperator.setUpdatedBy(username);
-            packageOperatorRepository.save(packageOperator);
         }
 
         log.info("批量更新算子执行顺序完成");
@@ -318,27 +390,23 @@ public class PackageServiceImpl implements PackageService {
         log.info("批量移除算子：packageId={}, count={}, reason={}",
                 packageId, request.getPackageOperatorIds().size(), request.getReason());
 
-        int removedCount = 0;
-        for (Long packageOperatorId : request.getPackageOperatorIds()) {
-            PackageOperator packageOperator = packageOperatorRepository.findById(packageOperatorId)
-                    .orElseThrow(() -> new ResourceNotFoundException("PackageOperator", packageOperatorId));
-
-            // 验证该算子属于指定包
-            if (!packageOperator.getOperatorPackage().getId().equals(packageId)) {
-                log.warn("算子 {} 不属于算子包 {}，跳过", packageOperatorId, packageId);
-                continue;
-            }
+        if (!packageRepository.existsById(packageId)) {
+            throw new ResourceNotFoundException("Package", packageId);
+        }
 
-            packageOperatorRepository.delete(packageOperator);
-            removedCount++;
+        // 单条 DELETE 语句删除，不属于该包的算子不会被删除
+        Set<Long> packageOperatorIds = new LinkedHashSet<>(request.getPackageOperatorIds());
+        int removedCount = packageOperatorRepository.deleteByPackageIdAndIdIn(packageId, packageOperatorIds);
+        if (removedCount < packageOperatorIds.size()) {
+            log.warn("{} 个算子不存在或不属于算子包 {}，跳过", packageOperatorIds.size() - removedCount, packageId);
         }
 
-        // Update operator count
-        OperatorPackage pkg = packageRepository.findById(packageId)
-                .orElseThrow(() -> new ResourceNotFoundException("Package", packageId));
-        pkg.setOperatorCount((int) packageOperatorRepository.countByOperatorPackageId(packageId));
-        packageRepository.save(pkg);
+        // Update operator count incrementally in the database (no read-modify-write on the entity)
+        if (removedCount > 0) {
+            packageRepository.decrementOperatorCount(packageId, removedCount);
+        }
 
+        log.info("批量移除算子完成：packageId={}, removed={}", packageId, removedCount);
     }
 
     @Override
@@ -375,13 +443,11 @@ public class PackageServiceImpl implements PackageService {
     }
 
     @Override
-    @Transactional
     public void incrementDownloadCount(Long id) {
-        OperatorPackage pkg = packageRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Package", id));
-
-        pkg.setDownloadsCount(pkg.getDownloadsCount() + 1);
-        packageRepository.save(pkg);
+        if (!packageRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Package", id);
+        }
+        downloadCounter.incrementPackage(id);
     }
 
     private PackageResponse mapToResponse(OperatorPackage pkg) {
@@ -394,34 +460,90 @@ public class PackageServiceImpl implements PackageService {
         response.setVersion(pkg.getVersion());
         response.setPackageTemplate(pkg.getPackageTemplate());
         response.setOperators(loadPackageOperators(pkg.getId()));
-        response.setCommonLibraries(loadPackageCommonLibraries(pkg.getId()));
+        response.setCommonLibraries(loadPackageCommonLibraries(pkg));
         return response;
     }
 
+    /**
+     * Map a page of packages to summaries; operator and library counts for all packages
+     * on the page come from one grouped query each
+     */
+    private List<PackageSummaryResponse> mapToSummaryResponses(List<OperatorPackage> packages) {
+        if (packages.isEmpty()) {
+            return List.of();
+        }
+        List<Long> packageIds = packages.stream().map(OperatorPackage::getId).toList();
+        Map<Long, Long> operatorCounts = toCountMap(packageOperatorRepository.countByPackageIds(packageIds));
+        Map<Long, Long> libraryCounts = toCountMap(packageCommonLibraryRepository.countByPackageIds(packageIds));
+
+        return packages.stream()
+                .map(pkg -> PackageSummaryResponse.builder()
+                        .id(pkg.getId())
+                        .name(pkg.getName())
+                        .description(pkg.getDescription())
+                        .businessScenario(pkg.getBusinessScenario())
+                        .status(pkg.getStatus() != null ? pkg.getStatus().name() : null)
+                        .version(pkg.getVersion())
+                        .packageTemplate(pkg.getPackageTemplate())
+                        .icon(pkg.getIcon())
+                        .isPublic(pkg.getIsPublic())
+                        .featured(pkg.getFeatured())
+                        .downloadsCount(pkg.getDownloadsCount())
+                        .operatorCount(operatorCounts.getOrDefault(pkg.getId(), 0L).intValue())
+                        .commonLibraryCount(libraryCounts.getOrDefault(pkg.getId(), 0L).intValue())
+                        .createdBy(pkg.getCreatedBy())
+                        .createdAt(pkg.getCreatedAt())
+                        .updatedAt(pkg.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
     private List<PackageOperatorResponse> loadPackageOperators(Long packageId) {
         return packageOperatorRepository.findByOperatorPackageIdOrderByOrderIndexAscWithFetch(packageId).stream()
                 .map(this::mapPackageOperatorToResponse)
                 .collect(Collectors.toList());
     }
 
-    private List<LibraryPathConfigResponse> loadPackageCommonLibraries(Long packageId) {
+    private List<LibraryPathConfigResponse> loadPackageCommonLibraries(OperatorPackage pkg) {
+        Long packageId = pkg.getId();
         PackagePathResolver.PackageTemplate packageTemplate = PackagePathResolver.PackageTemplate.LEGACY;
-        OperatorPackage pkg = packageRepository.findById(packageId).orElse(null);
-        if (pkg != null && pkg.getPackageTemplate() != null) {
+        if (pkg.getPackageTemplate() != null) {
             packageTemplate = PackagePathResolver.PackageTemplate.valueOf(pkg.getPackageTemplate().toUpperCase());
         }
 
         final PackagePathResolver.PackageTemplate template = packageTemplate;
-        return packageCommonLibraryRepository.findByOperatorPackageIdWithLibrary(packageId).stream()
-                .map(pcl -> {
-                    Long libraryId = pcl.getLibrary().getId();
-                    long relatedCount = operatorCommonLibraryRepository.countByLibraryId(libraryId);
-                    return convertToLibraryPathConfig(pcl, template, (int) relatedCount);
-                })
+        List<PackageCommonLibrary> packageLibraries =
+                packageCommonLibraryRepository.findByOperatorPackageIdWithLibrary(packageId);
+        Map<Long, Long> relatedCounts = countRelatedOperators(packageLibraries);
+        return packageLibraries.stream()
+                .map(pcl -> convertToLibraryPathConfig(pcl, template,
+                        relatedCounts.getOrDefault(pcl.getLibrary().getId(), 0L).intValue()))
                 .sorted(Comparator.comparing(LibraryPathConfigResponse::getLibraryName))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 统计算子包中每个公共库被多少个算子使用：公共库ID -> 数量
+     */
+    private Map<Long, Long> countRelatedOperators(List<PackageCommonLibrary> packageLibraries) {
+        if (packageLibraries.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<Long> libraryIds = packageLibraries.stream()
+                .map(pcl -> pcl.getLibrary().getId())
+                .distinct()
+                .toList();
+        return toCountMap(operatorCommonLibraryRepository.countByLibraryIds(libraryIds));
+    }
+
     private PackageOperatorResponse mapPackageOperatorToResponse(PackageOperator po) {
         return PackageOperatorResponse.builder()
                 .id(po.getId())
@@ -523,6 +645,41 @@ public class PackageServiceImpl implements PackageService {
         log.info("同步完成：创建 {} 个，跳过 {} 个", createdCount, skippedCount);
     }
 
+    /**
+     * 批量同步多个算子的公共库到算子包：一次查询依赖，一次批量保存，已存在于包中的公共库跳过
+     */
+    private void syncOperatorLibrariesToPackage(OperatorPackage pkg, List<Long> operatorIds) {
+        packageCommonLibraryRepository.deleteByPackageIdAndOperatorIds(pkg.getId(), operatorIds);
+
+        Map<Long, List<OperatorCommonLibrary>> librariesByOperator = operatorCommonLibraryRepository
+                .findByOperatorIdInWithLibrary(operatorIds).stream()
+                .collect(Collectors.groupingBy(ocl -> ocl.getOperator().getId()));
+        Set<Long> packageLibraryIds = new HashSet<>(
+                packageCommonLibraryRepository.findLibraryIdsByPackageId(pkg.getId()));
+
+        List<PackageCommonLibrary> created = new java.util.ArrayList<>();
+        for (Long operatorId : operatorIds) {
+            int orderIndex = 0;
+            for (OperatorCommonLibrary opLib : librariesByOperator.getOrDefault(operatorId, List.of())) {
+                com.operator.core.library.domain.CommonLibrary library = opLib.getLibrary();
+                if (packageLibraryIds.add(library.getId())) {
+                    created.add(PackageCommonLibrary.builder()
+                            .operatorPackage(pkg)
+                            .operator(opLib.getOperator())
+                            .library(library)
+                            .version(library.getVersion())
+                            .orderIndex(orderIndex)
+                            .useCustomPath(false)
+                            .build());
+                }
+                orderIndex++;
+            }
+        }
+        packageCommonLibraryRepository.saveAll(created);
+
+        log.info("批量同步完成：packageId={}, 算子 {} 个，创建公共库 {} 个", pkg.getId(), operatorIds.size(), created.size());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PackagePathConfigResponse getPackagePathConfig(Long packageId) {
@@ -538,14 +695,13 @@ public class PackageServiceImpl implements PackageService {
                 .map(po -> convertToOperatorPathConfig(po, template))
                 .collect(Collectors.toList());
 
-        // 获取公共库配置
-        List<LibraryPathConfigResponse> libraryConfigs = packageCommonLibraryRepository
-                .findByOperatorPackageIdWithLibrary(packageId).stream()
-                .map(pcl -> {
-                    Long libraryId = pcl.getLibrary().getId();
-                    long relatedCount = operatorCommonLibraryRepository.countByLibraryId(libraryId);
-                    return convertToLibraryPathConfig(pcl, template, (int) relatedCount);
-                })
+        // 获取公共库配置（关联算子数量按公共库分组一次统计）
+        List<PackageCommonLibrary> packageLibraries =
+                packageCommonLibraryRepository.findByOperatorPackageIdWithLibrary(packageId);
+        Map<Long, Long> relatedCounts = countRelatedOperators(packageLibraries);
+        List<LibraryPathConfigResponse> libraryConfigs = packageLibraries.stream()
+                .map(pcl -> convertToLibraryPathConfig(pcl, template,
+                        relatedCounts.getOrDefault(pcl.getLibrary().getId(), 0L).intValue()))
                 .collect(Collectors.toList());
 
         return PackagePathConfigResponse.builder()
@@ -0,0 +1,32 @@
+package com.operator.service.search;
+
+import com.operator.common.enums.LibraryType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Keyword search over the operator catalog, returning ids ordered by relevance
+ *
+ * Selected by {@code operator.search.engine}: {@code postgres} (default, pg_trgm indexes)
+ * or {@code memory} (ranking in the application, for the H2 profile).
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+public interface CatalogSearchEngine {
+
+    /**
+     * Search operators by name, description, operator code and object code
+     */
+    Page<Long> searchOperators(String keyword, Pageable pageable);
+
+    /**
+     * Search libraries by name and description, optionally restricted to one library type
+     */
+    Page<Long> searchLibraries(String keyword, LibraryType libraryType, Pageable pageable);
+
+    /**
+     * Search packages by name, description and business scenario
+     */
+    Page<Long> searchPackages(String keyword, Pageable pageable);
+}
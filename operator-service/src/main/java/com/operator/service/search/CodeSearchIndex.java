@@ -0,0 +1,563 @@
+package com.operator.service.search;
+
+import com.operator.common.dto.search.CodeSearchResponse;
+import com.operator.common.exception.BadRequestException;
+import com.operator.core.library.domain.CommonLibraryFile;
+import com.operator.core.library.repository.CommonLibraryFileRepository;
+import com.operator.core.operator.domain.Operator;
+import com.operator.core.operator.repository.OperatorRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index over operator code and library file code
+ *
+ * Sources are split into identifier tokens (lower-cased, at least two characters). Each indexed
+ * source gets an int document id; a token's postings are the ascending document ids that contain
+ * it, stored as varint deltas in a growable byte array (usually one byte per posting), so the
+ * index costs roughly the distinct tokens per source rather than the source size. Updating a
+ * source indexes it under a fresh document id and marks the old one dead; dead documents are
+ * dropped by a full rebuild once they outnumber the live ones.
+ *
+ * Queries intersect the postings of all query tokens, then load only the candidate sources to
+ * report the matching lines. Writes are applied after the surrounding transaction commits. The
+ * index is built in the background at startup; queries issued before that report
+ * {@code indexReady=false}.
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CodeSearchIndex {
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final int BUILD_BATCH_SIZE = 500;
+    private static final int LOAD_BATCH_SIZE = 100;
+    private static final int MAX_LINES_PER_HIT = 20;
+    private static final int MAX_LINE_LENGTH = 300;
+    private static final int MIN_DEAD_DOCS_FOR_REBUILD = 1000;
+
+    private static final byte OPERATOR = 0;
+    private static final byte LIBRARY_FILE = 1;
+
+    private final OperatorRepository operatorRepository;
+    private final CommonLibraryFileRepository libraryFileRepository;
+
+    @Value("${operator.code-search.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ExecutorService buildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "code-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Current index, guarded by {@link #lock}
+     */
+    private IndexData index = new IndexData();
+
+    /**
+     * Writes applied while a rebuild is running, replayed onto the rebuilt index (guarded by {@link #lock})
+     */
+    private List<Consumer<IndexData>> pendingWrites;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            scheduleRebuild();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        buildExecutor.shutdownNow();
+    }
+
+    /**
+     * Rebuild the whole index in the background (no-op if a rebuild is already running)
+     */
+    public void scheduleRebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                return;
+            }
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        buildExecutor.execute(this::rebuild);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void indexOperator(Long operatorId, String code) {
+        if (operatorId != null) {
+            write(data -> data.put(OPERATOR, operatorId, null, code));
+        }
+    }
+
+    public void removeOperator(Long operatorId) {
+        if (operatorId != null) {
+            write(data -> data.remove(OPERATOR, operatorId));
+        }
+    }
+
+    public void indexLibraryFile(Long libraryId, Long fileId, String code) {
+        if (fileId != null) {
+            write(data -> data.put(LIBRARY_FILE, fileId, libraryId, code));
+        }
+    }
+
+    public void removeLibraryFile(Long fileId) {
+        if (fileId != null) {
+            write(data -> data.remove(LIBRARY_FILE, fileId));
+        }
+    }
+
+    /**
+     * Remove all files of a library
+     */
+    public void removeLibrary(Long libraryId) {
+        if (libraryId != null) {
+            write(data -> data.removeLibrary(libraryId));
+        }
+    }
+
+    /**
+     * Find operators and library files containing every identifier of the query, with matching lines
+     *
+     * @param query identifiers to look for, e.g. {@code "parseDate"} or {@code "Constants MAX_RETRY"}
+     * @param limit maximum number of sources returned
+     */
+    @Transactional(readOnly = true)
+    public CodeSearchResponse search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(tokenize(query));
+        if (tokens.isEmpty()) {
+            throw new BadRequestException("Query must contain at least one identifier of two or more characters");
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            throw new BadRequestException("Query must not contain more than " + MAX_QUERY_TOKENS + " identifiers");
+        }
+
+        List<DocRef> candidates;
+        lock.readLock().lock();
+        try {
+            candidates = index.match(tokens);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Set<String> tokenSet = Set.copyOf(tokens);
+        List<CodeSearchResponse.Hit> hits = new ArrayList<>();
+        boolean truncated = false;
+        for (int from = 0; from < candidates.size(); from += LOAD_BATCH_SIZE) {
+            List<DocRef> batch = candidates.subList(from, Math.min(from + LOAD_BATCH_SIZE, candidates.size()));
+            for (CodeSearchResponse.Hit hit : loadHits(batch, tokenSet)) {
+                if (hits.size() == limit) {
+                    truncated = true;
+                    break;
+                }
+                hits.add(hit);
+            }
+            if (truncated) {
+                break;
+            }
+        }
+
+        return CodeSearchResponse.builder()
+                .tokens(tokens)
+                .indexReady(ready)
+                .truncated(truncated)
+                .hits(hits)
+                .build();
+    }
+
+    private List<CodeSearchResponse.Hit> loadHits(List<DocRef> batch, Set<String> tokens) {
+        List<Long> operatorIds = batch.stream().filter(ref -> ref.type() == OPERATOR).map(DocRef::sourceId).toList();
+        List<Long> fileIds = batch.stream().filter(ref -> ref.type() == LIBRARY_FILE).map(DocRef::sourceId).toList();
+        Map<Long, Operator> operators = operatorIds.isEmpty() ? Map.of()
+                : operatorRepository.findAllById(operatorIds).stream()
+                        .collect(Collectors.toMap(Operator::getId, Function.identity()));
+        Map<Long, CommonLibraryFile> files = fileIds.isEmpty() ? Map.of()
+                : libraryFileRepository.findAllById(fileIds).stream()
+                        .collect(Collectors.toMap(CommonLibraryFile::getId, Function.identity()));
+
+        List<CodeSearchResponse.Hit> hits = new ArrayList<>();
+        for (DocRef ref : batch) {
+            if (ref.type() == OPERATOR) {
+                Operator operator = operators.get(ref.sourceId());
+                List<CodeSearchResponse.Line> lines = operator != null ? matchLines(operator.getCode(), tokens) : List.of();
+                if (!lines.isEmpty()) {
+                    hits.add(CodeSearchResponse.Hit.builder()
+                            .sourceType("OPERATOR")
+                            .operatorId(operator.getId())
+                            .operatorName(operator.getName())
+                            .operatorCode(operator.getOperatorCode())
+                            .lines(lines)
+                            .build());
+                }
+            } else {
+                CommonLibraryFile file = files.get(ref.sourceId());
+                List<CodeSearchResponse.Line> lines = file != null ? matchLines(file.getCode(), tokens) : List.of();
+                if (!lines.isEmpty()) {
+                    hits.add(CodeSearchResponse.Hit.builder()
+                            .sourceType("LIBRARY_FILE")
+                            .libraryId(file.getLibrary().getId())
+                            .libraryName(file.getLibrary().getName())
+                            .fileId(file.getId())
+                            .fileName(file.getFileName())
+                            .lines(lines)
+                            .build());
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Lines containing at least one query token. A source qualifies only if the lines together
+     * contain every token (the postings may be stale if the source changed since it was indexed)
+     */
+    private List<CodeSearchResponse.Line> matchLines(String code, Set<String> tokens) {
+        if (code == null) {
+            return List.of();
+        }
+        List<CodeSearchResponse.Line> lines = new ArrayList<>();
+        Set<String> found = new LinkedHashSet<>();
+        String[] sourceLines = code.split("\n", -1);
+        for (int i = 0; i < sourceLines.length; i++) {
+            Set<String> lineTokens = tokenize(sourceLines[i]);
+            lineTokens.retainAll(tokens);
+            if (lineTokens.isEmpty()) {
+                continue;
+            }
+            found.addAll(lineTokens);
+            if (lines.size() < MAX_LINES_PER_HIT) {
+                String text = sourceLines[i].strip();
+                if (text.length() > MAX_LINE_LENGTH) {
+                    text = text.substring(0, MAX_LINE_LENGTH);
+                }
+                lines.add(CodeSearchResponse.Line.builder().lineNumber(i + 1).text(text).build());
+            }
+        }
+        return found.size() == tokens.size() ? lines : List.of();
+    }
+
+    private void write(Consumer<IndexData> change) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<IndexData> change) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingWrites != null) {
+                pendingWrites.add(change);
+            }
+            compact = index.deadCount > MIN_DEAD_DOCS_FOR_REBUILD && index.deadCount > index.liveCount();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            scheduleRebuild();
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        IndexData rebuilt = new IndexData();
+        try {
+            long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = operatorRepository.findCodeBatch(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    rebuilt.put(OPERATOR, afterId, null, (String) row[1]);
+                }
+            } while (rows.size() == BUILD_BATCH_SIZE);
+
+            afterId = 0L;
+            do {
+                rows = libraryFileRepository.findCodeBatch(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    rebuilt.put(LIBRARY_FILE, afterId, (Long) row[1], (String) row[2]);
+                }
+            } while (rows.size() == BUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.error("Failed to build code search index", e);
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Writes committed while we were reading may or may not be in the rebuilt data; replaying is idempotent
+            pendingWrites.forEach(change -> change.accept(rebuilt));
+            pendingWrites = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Code search index built: {} sources, {} tokens, ~{} KB postings in {} ms",
+                rebuilt.liveCount(), rebuilt.postings.size(), rebuilt.postingBytes() / 1024,
+                System.currentTimeMillis() - start);
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        Matcher matcher = TOKEN_PATTERN.matcher(text);
+        while (matcher.find()) {
+            if (matcher.end() - matcher.start() >= MIN_TOKEN_LENGTH) {
+                tokens.add(matcher.group().toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Candidate source of a query
+     */
+    private record DocRef(byte type, long sourceId) {
+    }
+
+    /**
+     * Postings and document table. Not thread-safe; access is guarded by the enclosing index lock
+     */
+    private static final class IndexData {
+
+        private final Map<String, PostingList> postings = new HashMap<>();
+        private final Map<Long, Integer> operatorDocs = new HashMap<>();
+        private final Map<Long, Integer> fileDocs = new HashMap<>();
+        private final BitSet liveDocs = new BitSet();
+
+        private byte[] docTypes = new byte[1024];
+        private long[] docSourceIds = new long[1024];
+        private long[] docLibraryIds = new long[1024];
+        private int docCount;
+        private int deadCount;
+
+        void put(byte type, long sourceId, Long libraryId, String code) {
+            remove(type, sourceId);
+
+            int docId = docCount++;
+            if (docId == docTypes.length) {
+                int capacity = docTypes.length * 2;
+                docTypes = Arrays.copyOf(docTypes, capacity);
+                docSourceIds = Arrays.copyOf(docSourceIds, capacity);
+                docLibraryIds = Arrays.copyOf(docLibraryIds, capacity);
+            }
+            docTypes[docId] = type;
+            docSourceIds[docId] = sourceId;
+            docLibraryIds[docId] = libraryId != null ? libraryId : 0L;
+            liveDocs.set(docId);
+            docs(type).put(sourceId, docId);
+
+            for (String token : tokenize(code)) {
+                postings.computeIfAbsent(token, key -> new PostingList()).add(docId);
+            }
+        }
+
+        void remove(byte type, long sourceId) {
+            Integer docId = docs(type).remove(sourceId);
+            if (docId != null) {
+                liveDocs.clear(docId);
+                deadCount++;
+            }
+        }
+
+        void removeLibrary(long libraryId) {
+            List<Long> fileIds = new ArrayList<>();
+            fileDocs.forEach((fileId, docId) -> {
+                if (docLibraryIds[docId] == libraryId) {
+                    fileIds.add(fileId);
+                }
+            });
+            fileIds.forEach(fileId -> remove(LIBRARY_FILE, fileId));
+        }
+
+        /**
+         * Live documents containing every token, in document id order
+         */
+        List<DocRef> match(List<String> tokens) {
+            List<PostingList> lists = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            int[] docIds = lists.get(0).decode();
+            int count = docIds.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = lists.get(i).retainIn(docIds, count);
+            }
+
+            List<DocRef> refs = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int docId = docIds[i];
+                if (liveDocs.get(docId)) {
+                    refs.add(new DocRef(docTypes[docId], docSourceIds[docId]));
+                }
+            }
+            return refs;
+        }
+
+        int liveCount() {
+            return operatorDocs.size() + fileDocs.size();
+        }
+
+        long postingBytes() {
+            return postings.values().stream().mapToLong(list -> list.length).sum();
+        }
+
+        private Map<Long, Integer> docs(byte type) {
+            return type == OPERATOR ? operatorDocs : fileDocs;
+        }
+    }
+
+    /**
+     * Ascending document ids encoded as varint deltas
+     */
+    private static final class PostingList {
+
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int size;
+        private int lastDocId = -1;
+
+        void add(int docId) {
+            if (docId <= lastDocId) {
+                return;
+            }
+            int delta = docId - lastDocId;
+            lastDocId = docId;
+            size++;
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            }
+            while ((delta & ~0x7F) != 0) {
+                bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+        }
+
+        int[] decode() {
+            int[] docIds = new int[size];
+            int docId = -1;
+            int pos = 0;
+            for (int i = 0; i < size; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[pos++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                docId += delta;
+                docIds[i] = docId;
+            }
+            return docIds;
+        }
+
+        /**
+         * Keep only the first {@code count} ids of {@code docIds} (ascending) that are in this list
+         *
+         * @return the new count
+         */
+        int retainIn(int[] docIds, int count) {
+            int kept = 0;
+            int docId = -1;
+            int pos = 0;
+            int read = 0;
+            for (int i = 0; i < count; i++) {
+                int target = docIds[i];
+                while (docId < target && read < size) {
+                    int delta = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = bytes[pos++];
+                        delta |= (b & 0x7F) << shift;
+                        shift += 7;
+                    } while ((b & 0x80) != 0);
+                    docId += delta;
+                    read++;
+                }
+                if (docId == target) {
+                    docIds[kept++] = target;
+                } else if (docId < target) {
+                    break;
+                }
+            }
+            return kept;
+        }
+    }
+}
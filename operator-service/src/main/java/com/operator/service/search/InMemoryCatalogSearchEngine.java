@@ -0,0 +1,117 @@
+package com.operator.service.search;
+
+import com.operator.common.enums.LibraryType;
+import com.operator.core.library.domain.CommonLibrary;
+import com.operator.core.library.repository.CommonLibraryRepository;
+import com.operator.core.operator.repository.OperatorRepository;
+import com.operator.core.operator.repository.OperatorSpecifications;
+import com.operator.core.operator.repository.OperatorSummary;
+import com.operator.core.pkg.domain.OperatorPackage;
+import com.operator.core.pkg.repository.OperatorPackageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Catalog search for databases without pg_trgm (H2 profile)
+ *
+ * Candidates are found with the portable LIKE queries and ranked in memory with the same
+ * rules as {@link PostgresCatalogSearchEngine}: exact matches first, then primary fields
+ * (name, codes) above secondary fields (description), earlier and tighter matches higher.
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "operator.search.engine", havingValue = "memory")
+public class InMemoryCatalogSearchEngine implements CatalogSearchEngine {
+
+    private final OperatorRepository operatorRepository;
+    private final CommonLibraryRepository libraryRepository;
+    private final OperatorPackageRepository packageRepository;
+
+    @Override
+    public Page<Long> searchOperators(String keyword, Pageable pageable) {
+        String normalized = normalize(keyword);
+        List<OperatorSummary> candidates = operatorRepository
+                .findSummaries(OperatorSpecifications.keywordMatches(normalized), Pageable.unpaged())
+                .getContent();
+        return rank(candidates, OperatorSummary::id,
+                op -> Math.max(score(normalized, op.name(), op.operatorCode(), op.objectCode()),
+                        0.5 * score(normalized, op.description())),
+                pageable);
+    }
+
+    @Override
+    public Page<Long> searchLibraries(String keyword, LibraryType libraryType, Pageable pageable) {
+        String normalized = normalize(keyword);
+        List<CommonLibrary> candidates = (libraryType != null
+                ? libraryRepository.searchLibrariesByType(libraryType, normalized, Pageable.unpaged())
+                : libraryRepository.searchLibraries(normalized, Pageable.unpaged()))
+                .getContent();
+        return rank(candidates, CommonLibrary::getId,
+                lib -> Math.max(score(normalized, lib.getName()), 0.5 * score(normalized, lib.getDescription())),
+                pageable);
+    }
+
+    @Override
+    public Page<Long> searchPackages(String keyword, Pageable pageable) {
+        String normalized = normalize(keyword);
+        List<OperatorPackage> candidates = packageRepository.searchPackages(normalized, Pageable.unpaged()).getContent();
+        return rank(candidates, OperatorPackage::getId,
+                pkg -> Math.max(score(normalized, pkg.getName(), pkg.getBusinessScenario()),
+                        0.5 * score(normalized, pkg.getDescription())),
+                pageable);
+    }
+
+    private <T> Page<Long> rank(List<T> candidates, Function<T, Long> idGetter,
+                                ToDoubleFunction<T> scorer, Pageable pageable) {
+        List<Long> rankedIds = candidates.stream()
+                .sorted(Comparator.comparingDouble(scorer).reversed()
+                        .thenComparing(idGetter, Comparator.reverseOrder()))
+                .map(idGetter)
+                .toList();
+
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        return new PageImpl<>(rankedIds.subList(from, to), pageable, rankedIds.size());
+    }
+
+    /**
+     * Best score of the keyword over the given fields: 2 for an exact match, otherwise
+     * between 0 and 1 depending on how much of the field the keyword covers and how early it occurs
+     */
+    private double score(String keyword, String... fields) {
+        double best = 0;
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            String value = field.toLowerCase(Locale.ROOT);
+            if (value.equals(keyword)) {
+                return 2;
+            }
+            int index = value.indexOf(keyword);
+            if (index >= 0) {
+                double coverage = (double) keyword.length() / value.length();
+                double position = 1.0 / (1 + index);
+                best = Math.max(best, 0.5 * coverage + 0.5 * position);
+            }
+        }
+        return best;
+    }
+
+    private String normalize(String keyword) {
+        return keyword.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,68 @@
+package com.operator.service.search;
+
+import com.operator.common.enums.LibraryType;
+import com.operator.common.utils.LikePatterns;
+import com.operator.core.library.repository.CommonLibraryRepository;
+import com.operator.core.operator.repository.OperatorRepository;
+import com.operator.core.pkg.repository.OperatorPackageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * PostgreSQL catalog search: trigram GIN indexes for matching, word similarity for ranking
+ *
+ * @author Operator Manager Team
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "operator.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresCatalogSearchEngine implements CatalogSearchEngine {
+
+    private final OperatorRepository operatorRepository;
+    private final CommonLibraryRepository libraryRepository;
+    private final OperatorPackageRepository packageRepository;
+
+    @Override
+    public Page<Long> searchOperators(String keyword, Pageable pageable) {
+        String normalized = normalize(keyword);
+        return operatorRepository.searchIdsByRelevance(normalized, toPattern(normalized), unsorted(pageable));
+    }
+
+    @Override
+    public Page<Long> searchLibraries(String keyword, LibraryType libraryType, Pageable pageable) {
+        String normalized = normalize(keyword);
+        return libraryRepository.searchIdsByRelevance(normalized, toPattern(normalized),
+                libraryType != null ? libraryType.name() : null, unsorted(pageable));
+    }
+
+    @Override
+    public Page<Long> searchPackages(String keyword, Pageable pageable) {
+        String normalized = normalize(keyword);
+        return packageRepository.searchIdsByRelevance(normalized, toPattern(normalized), unsorted(pageable));
+    }
+
+    private String normalize(String keyword) {
+        return keyword.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Build a contains pattern, escaping LIKE wildcards (PostgreSQL uses backslash as the default escape)
+     */
+    private String toPattern(String keyword) {
+        return "%" + LikePatterns.escape(keyword) + "%";
+    }
+
+    /**
+     * The queries order by relevance themselves
+     */
+    private Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+}
@@ -4,6 +4,7 @@ import com.operator.common.dto.*;
 import com.operator.common.enums.*;
 import com.operator.common.exception.BadRequestException;
 import com.operator.infrastructure.security.JwtTokenProvider;
+import com.operator.infrastructure.security.PrincipalCache;
 import com.operator.infrastructure.security.UserPrincipal;
 import com.operator.core.security.domain.User;
 import com.operator.core.security.repository.UserRepository;
@@ -32,6 +33,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final PrincipalCache principalCache;
 
     /**
      * Register new user
@@ -173,6 +175,7 @@ public class AuthService {
         // Update password
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.invalidate(userId);
 
         log.info("Password changed for user: {}", user.getUsername());
     }
@@ -7,6 +7,7 @@ import com.operator.common.dto.user.UpdateUserRequest;
 import com.operator.common.exception.ResourceNotFoundException;
 import com.operator.core.security.domain.User;
 import com.operator.core.security.repository.UserRepository;
+import com.operator.infrastructure.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,7 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserInfo getUserById(Long id) {
@@ -64,6 +66,7 @@ public class UserServiceImpl implements UserService {
         }
 
         user = userRepository.save(user);
+        principalCache.invalidate(user.getId());
 
         return mapToUserInfo(user);
     }
@@ -83,6 +86,7 @@ public class UserServiceImpl implements UserService {
 
         user.setRole(UserRole.valueOf(role));
         userRepository.save(user);
+        principalCache.invalidate(userId);
     }
 
     @Override
@@ -93,6 +97,7 @@ public class UserServiceImpl implements UserService {
 
         user.setStatus(UserStatus.valueOf(status));
         userRepository.save(user);
+        principalCache.invalidate(userId);
     }
 
     @Override
@@ -102,6 +107,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", userId));
 
         userRepository.delete(user);
+        principalCache.invalidate(userId);
     }
 
     @Override